@@ -0,0 +1,28 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Report the cases of a theory in groups, each group as a single test, to cut
+ * reporting overhead for theories with very many fast cases.
+ *
+ * A group fails if any of its cases fail, with the failure message listing the
+ * arguments of the failing cases. It is skipped if all of its cases fail
+ * assumptions.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface Aggregated {
+
+    /**
+     *
+     * @return the number of cases per reported test, or 0 to report the whole
+     *         theory as one test
+     */
+    int value() default 0;
+
+}
@@ -0,0 +1,37 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Remember which cases of a theory passed, and skip them on later runs while
+ * the arguments and code are unchanged. Skipped cases are reported as failing
+ * an assumption, with a message saying they were cached.
+ *
+ * Results are kept in the directory named by the system property
+ * {@code theorysuite.stateDir}. A case is identified by the theory, the index
+ * of each argument among the values for its parameter, and a digest of every
+ * value of every parameter of the theory, taken from each value's class and
+ * its {@code Arrays.deepToString} form. Values should therefore have a
+ * {@code toString} that stays the same from run to run: if any datapoint has
+ * one based on its identity, such as the default {@code Object.toString},
+ * the digest changes on each run and every cached result of the theory is
+ * lost, not just those of the cases using that value. The code is identified
+ * by the bytecode of the test class, its superclasses and the classes listed
+ * in {@link #dependsOn()}; a change to any of these invalidates the theory's
+ * results.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface CacheResults {
+
+    /**
+     *
+     * @return the classes under test, whose bytecode is also checked
+     */
+    Class<?>[] dependsOn() default {};
+
+}
@@ -0,0 +1,26 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Stop running the cases of a theory once a number of them have failed, and
+ * report the rest as skipped, so that a badly broken theory fails quickly.
+ *
+ * Cases that are already running when the limit is reached, for example on
+ * other threads of a parallel theory, still finish.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface FailFast {
+
+    /**
+     *
+     * @return the number of failing cases after which the theory stops
+     */
+    int value() default 1;
+
+}
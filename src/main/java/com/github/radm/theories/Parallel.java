@@ -0,0 +1,23 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Run the individual cases of a theory concurrently on a fork-join pool.
+ *
+ * Theories are still run one at a time; only the cases within a single theory
+ * overlap. The pool size defaults to the number of available processors, and
+ * can be set with the system property {@code theorysuite.parallelism}.
+ *
+ * Test code run this way must be thread safe, as must any static state it
+ * shares between cases.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface Parallel {
+
+}
@@ -0,0 +1,36 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Periodically save how far a long-running theory has got, so that a run that
+ * is killed part way through carries on from the last checkpoint next time
+ * rather than starting again from the first case. Cases that failed before the
+ * run was interrupted are reported again when it resumes.
+ *
+ * Resumable theories are always streamed, and their cases run in generation
+ * order. Exhaustive theories resume directly at the next combination of
+ * arguments; other orders generate the earlier cases again, without running
+ * them. A checkpoint is only used while the theory's argument values and
+ * shard are unchanged, and is removed once the theory completes.
+ *
+ * Checkpoints are kept in the directory named by the system property
+ * {@code theorysuite.stateDir}, and only saved between cases, or between
+ * batches of parallel cases.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface Resumable {
+
+    /**
+     *
+     * @return how often to save a checkpoint, as a number and a unit, one of
+     *         ms, s, m or h
+     */
+    String value() default "1m";
+
+}
@@ -0,0 +1,22 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Create the test class instance once per theory and reuse it for every case,
+ * rather than creating a new instance per case. When cases run in parallel,
+ * there is one instance per concurrently running case.
+ *
+ * {@code @Before} and {@code @After} methods still run around each case. Only
+ * suitable for test classes whose instances hold no state that could carry
+ * over from one case to the next.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface ReuseInstance {
+
+}
@@ -0,0 +1,21 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Generate the cases of a theory as they are run, rather than all up front, so
+ * that memory use does not grow with the number of cases.
+ *
+ * The cases of a streamed theory are not known until they run, so do not
+ * appear in the test tree before then, and the theory can only be filtered as
+ * a whole.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface Streaming {
+
+}
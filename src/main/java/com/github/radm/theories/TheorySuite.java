@@ -1,14 +1,30 @@
 package com.github.radm.theories;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.junit.contrib.theories.Theory;
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
@@ -18,15 +34,30 @@ import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.radm.theories.runner.ArgumentGenerator;
 import com.github.radm.theories.runner.AssumptionsFailureCounter;
+import com.github.radm.theories.runner.BoundMethods;
+import com.github.radm.theories.runner.CaseChunk;
+import com.github.radm.theories.runner.CaseLimit;
+import com.github.radm.theories.runner.ChunkResult;
 import com.github.radm.theories.runner.ConstraintFinder;
+import com.github.radm.theories.runner.DurationHistory;
+import com.github.radm.theories.runner.FailureHistory;
+import com.github.radm.theories.runner.GeneratedCases;
+import com.github.radm.theories.runner.InstancePool;
 import com.github.radm.theories.runner.MethodWithArguments;
+import com.github.radm.theories.runner.ParallelCaseRunner;
 import com.github.radm.theories.runner.PotentialAssignmentFinder;
+import com.github.radm.theories.runner.ResultStore;
+import com.github.radm.theories.runner.StreamedTheory;
 import com.github.radm.theories.runner.TheoriesWrapper;
+import com.github.radm.theories.runner.TheoryCheckpoint;
+import com.github.radm.theories.runner.TheoryOptions;
+import com.github.radm.theories.runner.TheorySettings;
 
 /**
  * A TheorySuite is a JUnit test runner that understands all the test
@@ -38,6 +69,9 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
 
     private static final Logger LOG = LoggerFactory.getLogger(TheorySuite.class);
 
+    /** Number of cases of a streamed parallel theory generated at a time. */
+    private static final int STREAMED_BATCH_SIZE = 4096;
+
     /**
      * currently reuses some of the implementation of the default theories
      * runner.
@@ -52,7 +86,22 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
 
     private Description suiteDescription;
 
-    private Map<Method, AssumptionsFailureCounter> checksByMethod;
+    private Map<Method, TheoryOptions> theories;
+
+    private ParallelCaseRunner parallelRunner;
+
+    private ResultStore resultStore;
+
+    private FailureHistory failureHistory;
+
+    private DurationHistory durationHistory;
+
+    private final ThreadLocal<InstancePool.Loan> currentLoan = new ThreadLocal<>();
+
+    /** The test class constructor bound to a handle, or empty if by reflection. */
+    private volatile Optional<MethodHandle> boundConstructor;
+
+    private final List<MethodWithArguments> pendingCases = new ArrayList<>();
 
     private PotentialAssignmentFinder finder;
 
@@ -62,6 +111,14 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
 
     private Sorter sorter;
 
+    private boolean lazyDescriptions;
+
+    private boolean descriptionStale;
+
+    private int shardIndex;
+
+    private int shardCount;
+
     /**
      * Instantiates a new theory suite.
      *
@@ -87,13 +144,48 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
     public Description getDescription() {
 
         ensureInit();
-        if (filter != Filter.ALL || sorter != null) {
+        if (descriptionStale) {
+            if (lazyDescriptions && filter != Filter.ALL) {
+                suiteDescription = describeFilteredCases();
+            }
             suiteDescription = rebuildDescriptionByFilter(suiteDescription);
+            descriptionStale = false;
         }
 
         return suiteDescription;
     }
 
+    /**
+     * With lazy descriptions, the tree holds no cases; add in those that pass
+     * the filter, on the basis that a filter normally selects a few cases to
+     * re-run.
+     *
+     * @return the description
+     */
+    private Description describeFilteredCases() {
+
+        Description ret = suiteDescription.childlessCopy();
+        Map<Method, Description> theoryCopies = new HashMap<>();
+
+        for (FrameworkMethod fm : allMethodsWithAllArgs) {
+            Description desc = describeChild(fm);
+
+            if (!(fm instanceof MethodWithArguments || fm instanceof CaseChunk)) {
+                if (filter.shouldRun(desc)) {
+                    ret.addChild(desc);
+                }
+            } else if (filter.shouldRun(desc)) {
+                theoryCopies.computeIfAbsent(fm.getMethod(), m -> {
+                    Description theoryCopy = theories.get(m).getDescription().childlessCopy();
+                    ret.addChild(theoryCopy);
+                    return theoryCopy;
+                }).addChild(desc);
+            }
+        }
+
+        return ret;
+    }
+
     private Description rebuildDescriptionByFilter(Description description) {
 
         Description ret = description.childlessCopy();
@@ -157,9 +249,61 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
 
     @Override
     public void filter(Filter newFilter) throws NoTestsRemainException {
+        selectStreamedCases(newFilter);
         super.filter(newFilter);
 
         this.filter = newFilter;
+        descriptionStale = true;
+    }
+
+    /**
+     * A streamed theory has no cases in the tree for a filter to pick out, so
+     * unless the filter takes the whole theory, its cases are generated to see
+     * which the filter wants. Those become the theory's children, keeping it in
+     * the tree, and are the only cases it streams. A later filter narrows the
+     * cases already selected.
+     */
+    private void selectStreamedCases(Filter newFilter) {
+
+        for (FrameworkMethod fm : computeTestMethods()) {
+            if (!(fm instanceof StreamedTheory)) {
+                continue;
+            }
+
+            StreamedTheory theory = (StreamedTheory) fm;
+            Description theoryDescription = describeChild(theory);
+            Set<String> selected = theory.getSelectedCases();
+            if (selected == null && newFilter.shouldRun(theoryDescription)) {
+                continue;
+            }
+
+            Set<String> names = new LinkedHashSet<>();
+            if (selected != null) {
+                selected.stream().filter(name -> newFilter.shouldRun(describeCase(name))).forEach(names::add);
+            } else {
+                // from the first case, not where an interrupted run got to
+                theory.selectCases(null);
+                try {
+                    Iterator<MethodWithArguments> cases = theory.cases();
+                    while (cases.hasNext()) {
+                        String name = cases.next().getName();
+                        if (newFilter.shouldRun(describeCase(name))) {
+                            names.add(name);
+                        }
+                    }
+                } catch (Throwable e) {
+                    LOG.warn("could not generate cases of {} to filter", theory.getName(), e);
+                    continue;
+                }
+            }
+
+            if (selected == null) {
+                names.forEach(name -> theoryDescription.addChild(describeCase(name)));
+            }
+            theory.selectCases(names);
+            // a run of some cases says nothing about how far the rest got
+            theories.get(theory.getMethod()).withCheckpoint(null);
+        }
     }
 
     @Override
@@ -167,11 +311,35 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
         super.sort(newSorter);
 
         this.sorter = newSorter;
+        descriptionStale = true;
     }
 
     private void computeTestMethodsWithArgs(TheoriesWrapper runner) {
         allMethodsWithAllArgs = new ArrayList<>();
 
+        try {
+            shardIndex = TheorySettings.shardIndex(shardCount);
+        } catch (IllegalArgumentException e) {
+            reportError(e);
+            return;
+        }
+
+        if (TheorySettings.failuresFirst()) {
+            try {
+                failureHistory = FailureHistory.open(TheorySettings.stateDir(), getTestClass().getJavaClass());
+            } catch (IOException e) {
+                LOG.warn("could not read failure history of {}", getTestClass().getName(), e);
+            }
+        }
+
+        if (TheorySettings.longestFirst()) {
+            try {
+                durationHistory = DurationHistory.open(TheorySettings.stateDir(), getTestClass().getJavaClass());
+            } catch (IOException e) {
+                LOG.warn("could not read case durations of {}", getTestClass().getName(), e);
+            }
+        }
+
         for (FrameworkMethod fm : runner.computeTestMethods()) {
 
             if (fm.getAnnotation(Theory.class) == null ) {
@@ -186,34 +354,584 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
         }
     }
 
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        Statement children = super.childrenInvoker(notifier);
+
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    children.evaluate();
+                    runPendingCases(notifier);
+                } finally {
+                    parallelRunner.shutdown();
+                    theories.values().forEach(TheoryOptions::releaseInstances);
+                    saveState();
+                }
+            }
+        };
+    }
+
     @Override
     protected void runChild(final FrameworkMethod fm, RunNotifier notifier) {
 
-        if (checksByMethod.containsKey(fm.getMethod())) {
-            AssumptionsFailureCounter listener = checksByMethod.get(fm.getMethod());
+        TheoryOptions options = theories.get(fm.getMethod());
+        if (options == null) {
+            runPendingCases(notifier);
+            super.runChild(fm, notifier);
+            return;
+        }
+
+        if (fm instanceof StreamedTheory) {
+            runPendingCases(notifier);
+            runStreamedTheory((StreamedTheory) fm, options, notifier);
+            return;
+        }
 
-            notifier.addListener(listener);
-            try {
-                super.runChild(fm, notifier);
-                if (!listener.isWithinLimit()) {
-                    MethodWithArguments mwa = (MethodWithArguments) fm;
-                    notifier.fireTestFailure(new Failure(describeChild(mwa.getParent()),
-                            new AssertionError("Never found parameters that satisfied method assumptions.")));
+        if (fm instanceof CaseChunk) {
+            runPendingCases(notifier);
+            if (skipPastCaseLimit(fm, options, notifier)) {
+                return;
+            }
+            ChunkResult result = runChunk((CaseChunk) fm, options, notifier);
+            if (options.getAssumptionChecks().recordAssumptionFailures(result.getAssumptionsFailed())) {
+                fireNoValidParameters(options, notifier);
+            }
+            return;
+        }
+
+        if (options.isParallel()) {
+            queueParallelCase((MethodWithArguments) fm, notifier);
+            return;
+        }
+
+        runPendingCases(notifier);
+        if (!skipPastCaseLimit(fm, options, notifier)) {
+            runCase((MethodWithArguments) fm, options, options.getAssumptionChecks(), notifier);
+        }
+    }
+
+    /**
+     * Parallel cases are collected up until a case from a different theory
+     * is seen, then run as a single batch.
+     */
+    private void queueParallelCase(MethodWithArguments mwa, RunNotifier notifier) {
+        if (!pendingCases.isEmpty() && !pendingCases.get(0).getMethod().equals(mwa.getMethod())) {
+            runPendingCases(notifier);
+        }
+        pendingCases.add(mwa);
+    }
+
+    private void runPendingCases(RunNotifier notifier) {
+        if (pendingCases.isEmpty()) {
+            return;
+        }
+
+        MethodWithArguments first = pendingCases.get(0);
+        TheoryOptions options = theories.get(first.getMethod());
+        AssumptionsFailureCounter counter = options.getAssumptionChecks();
+
+        List<Runnable> batch = new ArrayList<>(pendingCases.size());
+        for (MethodWithArguments mwa : scheduleOrder(pendingCases)) {
+            batch.add(() -> {
+                if (!skipPastCaseLimit(mwa, options, notifier)) {
+                    runCase(mwa, options, counter, notifier);
                 }
-            } finally {
-                notifier.removeListener(listener);
+            });
+        }
+        pendingCases.clear();
+
+        LOG.debug("running {} cases of {} in parallel", batch.size(), first.getParent());
+        options.getBatchRunner().accept(batch);
+    }
+
+    /**
+     * Run a single case, as {@link #runChild} would, but with its outcome
+     * counted directly rather than by adding listeners to the notifier, which
+     * copies its list of listeners on every change.
+     */
+    private void runCase(MethodWithArguments mwa, TheoryOptions options, AssumptionsFailureCounter counter,
+            RunNotifier notifier) {
+
+        Description description = describeChild(mwa);
+        if (isIgnored(mwa)) {
+            notifier.fireTestIgnored(description);
+            return;
+        }
+
+        EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+        if (resultStore != null && resultStore.hasPassed(mwa)) {
+            eachNotifier.fireTestStarted();
+            eachNotifier.addFailedAssumption(skipped(
+                    "cached: passed on an earlier run with the same arguments and code"));
+            eachNotifier.fireTestFinished();
+            return;
+        }
+
+        Statement statement = methodBlock(mwa);
+
+        boolean noValidParameters = false;
+        eachNotifier.fireTestStarted();
+        long start = System.nanoTime();
+        try {
+            statement.evaluate();
+            recordOutcome(mwa, ChunkResult.Outcome.PASSED, options);
+        } catch (AssumptionViolatedException e) {
+            eachNotifier.addFailedAssumption(e);
+            noValidParameters = counter.recordAssumptionFailures(1);
+            recordOutcome(mwa, ChunkResult.Outcome.ASSUMPTION_FAILED, options);
+        } catch (Throwable e) {
+            eachNotifier.addFailure(e);
+            recordOutcome(mwa, ChunkResult.Outcome.FAILED, options);
+        } finally {
+            recordDuration(mwa, start);
+            eachNotifier.fireTestFinished();
+        }
+
+        if (noValidParameters) {
+            fireNoValidParameters(options, notifier);
+        }
+    }
+
+    /**
+     * An assumption failure raised by the runner itself, rather than caught
+     * from a case. Cases may throw the older internal type as well, so that is
+     * what is caught.
+     */
+    private static AssumptionViolatedException skipped(String message) {
+        return new org.junit.AssumptionViolatedException(message);
+    }
+
+    /**
+     * Once a theory has reached its failure limit or spent its time budget, its
+     * remaining cases are reported as skipped without being run: one by one if
+     * they are in the test tree, otherwise all together. A spent time budget is
+     * always summarised, to report the coverage reached.
+     *
+     * @return true, if the case was skipped
+     */
+    private boolean skipPastCaseLimit(FrameworkMethod fm, TheoryOptions options, RunNotifier notifier) {
+        CaseLimit limit = options.getLimit();
+        if (limit == null) {
+            return false;
+        }
+
+        if (!limit.isReached()) {
+            if (fm instanceof MethodWithArguments) {
+                limit.recordCase((MethodWithArguments) fm);
+            }
+            return false;
+        }
+
+        Description description = descriptions.get(fm);
+        if (description != null) {
+            notifier.fireTestIgnored(description);
+        }
+        if (description == null || limit.isOutOfTime()) {
+            fireRemainingSkipped(fm.getMethod(), limit, notifier);
+        }
+        return true;
+    }
+
+    private void fireRemainingSkipped(Method theory, CaseLimit limit, RunNotifier notifier) {
+        if (limit.claimSkipReport()) {
+            notifier.fireTestIgnored(Description.createTestDescription(getTestClass().getJavaClass(),
+                    theory.getName() + "[remaining cases skipped " + limit.describeStop() + "]"));
+        }
+    }
+
+    /**
+     * A resumed theory reports the cases run before it was interrupted as a
+     * single test, failing if any of them failed.
+     */
+    private void fireResumed(Method theory, TheoryCheckpoint checkpoint, RunNotifier notifier) {
+        Description description = Description.createTestDescription(getTestClass().getJavaClass(),
+                theory.getName() + "[" + checkpoint.getCasesBefore() + " cases run before resuming]");
+
+        List<String> failures = checkpoint.getFailuresBefore();
+        if (failures.isEmpty()) {
+            notifier.fireTestIgnored(description);
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(failures.size()).append(" of ").append(checkpoint.getCasesBefore())
+                .append(" cases failed before the run was interrupted:");
+        failures.forEach(name -> message.append("\n  ").append(name));
+
+        notifier.fireTestStarted(description);
+        notifier.fireTestFailure(new Failure(description, new AssertionError(message.toString())));
+        notifier.fireTestFinished(description);
+    }
+
+    private void fireNoValidParameters(TheoryOptions options, RunNotifier notifier) {
+        notifier.fireTestFailure(new Failure(options.getDescription(),
+                new AssertionError("Never found parameters that satisfied method assumptions.")));
+    }
+
+    /**
+     * Run cases as they are generated.
+     */
+    private void runStreamedTheory(StreamedTheory theory, TheoryOptions options, RunNotifier notifier) {
+
+        Description description = describeChild(theory);
+        if (isIgnored(theory)) {
+            notifier.fireTestIgnored(description);
+            return;
+        }
+
+        Integer chunkSize = options.getChunkSize();
+        TheoryCheckpoint checkpoint = options.getCheckpoint();
+        int casesRun = 0;
+        int assumptionsFailed = 0;
+
+        if (checkpoint != null && checkpoint.isResuming()) {
+            fireResumed(theory.getMethod(), checkpoint, notifier);
+        }
+
+        Iterator<MethodWithArguments> cases;
+        try {
+            cases = new GeneratedCases(streamedCases(theory, options));
+        } catch (Throwable e) {
+            fireGenerationFailure(description, e, notifier);
+            return;
+        }
+
+        // only failures to generate cases are caught; anything else escaping
+        // a case, such as a request to stop, ends the run
+        try {
+            if (chunkSize == null) {
+                AssumptionsFailureCounter counter = new AssumptionsFailureCounter(Integer.MAX_VALUE);
+                casesRun = runCases(cases, options, mwa -> {
+                    if (!skipPastCaseLimit(mwa, options, notifier)) {
+                        runCase(mwa, options, counter, notifier);
+                    }
+                });
+                assumptionsFailed = counter.getAssumptionsFailed();
+            } else if (chunkSize == 0) {
+                ChunkResult result = runChunk(new CaseChunk(theory, () -> cases), options, notifier);
+                casesRun = result.getCasesRun();
+                assumptionsFailed = result.getAssumptionsFailed();
+            } else {
+                while (!options.isLimitReached() && cases.hasNext()) {
+                    List<MethodWithArguments> chunkCases = new ArrayList<>(chunkSize);
+                    while (cases.hasNext() && chunkCases.size() < chunkSize) {
+                        chunkCases.add(cases.next());
+                    }
+
+                    ChunkResult result = runChunk(
+                            new CaseChunk(theory, chunkCases, casesRun + 1, casesRun + chunkCases.size()), options,
+                            notifier);
+                    casesRun += result.getCasesRun();
+                    assumptionsFailed += result.getAssumptionsFailed();
+                }
+            }
+
+            if (options.isLimitReached() && cases.hasNext()) {
+                fireRemainingSkipped(theory.getMethod(), options.getLimit(), notifier);
+            }
+            options.finishCheckpoint(!cases.hasNext() && !options.isLimitReached());
+        } catch (GeneratedCases.GenerationFailure e) {
+            fireGenerationFailure(description, e.getCause(), notifier);
+        }
+
+        LOG.debug("streamed theory {} had {} cases", theory, casesRun);
+        // a few cases picked out by a filter may all fairly fail assumptions
+        if (casesRun > 0 && theory.getSelectedCases() == null && assumptionsFailed >= assumptionLimit(casesRun)) {
+            fireNoValidParameters(options, notifier);
+        }
+    }
+
+    private static void fireGenerationFailure(Description description, Throwable e, RunNotifier notifier) {
+        LOG.debug("generating cases", e);
+        notifier.fireTestFailure(new Failure(description, e));
+    }
+
+    /**
+     * Cases of a streamed theory, with those that failed last time first. That
+     * means generating the cases twice, once to pick out the failures and then
+     * again for the rest.
+     *
+     * @return the iterator over the cases
+     */
+    private Iterator<MethodWithArguments> streamedCases(StreamedTheory theory, TheoryOptions options)
+            throws Throwable {
+
+        if (failureHistory == null || !failureHistory.hasFailuresOf(theory.getMethod())
+                || options.getCheckpoint() != null) {
+            return generatedCases(theory, options);
+        }
+
+        Stream<MethodWithArguments> failures = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                failureHistory.failuresAmong(theory.getMethod(), theory.cases(), shardCount <= 1),
+                Spliterator.ORDERED), false);
+        Stream<MethodWithArguments> rest = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(generatedCases(theory, options), Spliterator.ORDERED),
+                        false)
+                .filter(mwa -> !failureHistory.failedBefore(mwa));
+
+        return Stream.concat(failures, rest).iterator();
+    }
+
+    /**
+     * Cases of a streamed theory, noting each in the duration history as it
+     * is generated, so that earlier times of cases that do not get to run are
+     * kept.
+     */
+    private Iterator<MethodWithArguments> generatedCases(StreamedTheory theory, TheoryOptions options)
+            throws Throwable {
+
+        if (durationHistory == null || !durationHistory.hasTimesOf(theory.getMethod())) {
+            return theory.cases();
+        }
+
+        TheoryCheckpoint checkpoint = options.getCheckpoint();
+        boolean allCases = shardCount <= 1 && (checkpoint == null || !checkpoint.isResuming());
+        return durationHistory.generatedAmong(theory.getMethod(), theory.cases(), allCases);
+    }
+
+    /**
+     * Run a group of cases reported as a single test.
+     *
+     * @return the outcome of the cases
+     */
+    private ChunkResult runChunk(CaseChunk chunk, TheoryOptions options, RunNotifier notifier) {
+
+        ChunkResult result = new ChunkResult();
+        Description description = describeChild(chunk);
+        if (isIgnored(chunk)) {
+            notifier.fireTestIgnored(description);
+            return result;
+        }
+
+        EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+        eachNotifier.fireTestStarted();
+        try {
+            CaseLimit limit = options.getLimit();
+            runCases(chunk.cases(), options, mwa -> {
+                if (options.isLimitReached()) {
+                    return;
+                }
+                if (resultStore != null && resultStore.hasPassed(mwa)) {
+                    result.recordCached();
+                    return;
+                }
+                if (limit != null) {
+                    limit.recordCase(mwa);
+                }
+
+                long start = System.nanoTime();
+                ChunkResult.Outcome outcome = result.run(mwa, methodBlock(mwa));
+                recordDuration(mwa, start);
+                recordOutcome(mwa, outcome, options);
+            });
+
+            Throwable failure = result.getFailure();
+            if (failure != null) {
+                eachNotifier.addFailure(failure);
+            } else if (result.allCached()) {
+                eachNotifier.addFailedAssumption(skipped("cached: all "
+                        + result.getCasesCached() + " cases passed on an earlier run with the same arguments and code"));
+            } else if (result.allAssumptionsFailed()) {
+                eachNotifier.addFailedAssumption(skipped(
+                        "All " + result.getCasesRun() + " cases failed assumptions"));
+            }
+        } finally {
+            eachNotifier.fireTestFinished();
+        }
+
+        return result;
+    }
+
+    /**
+     * Record the outcome of a case wherever it is tracked.
+     */
+    private void recordOutcome(MethodWithArguments mwa, ChunkResult.Outcome outcome, TheoryOptions options) {
+        options.recordOutcome(mwa, outcome);
+
+        if (outcome == ChunkResult.Outcome.FAILED) {
+            if (failureHistory != null) {
+                failureHistory.recordFailure(mwa);
             }
         } else {
-            super.runChild(fm, notifier);
+            if (resultStore != null && outcome == ChunkResult.Outcome.PASSED) {
+                resultStore.recordPass(mwa);
+            }
+            if (failureHistory != null) {
+                failureHistory.recordNoFailure(mwa);
+            }
+        }
+    }
+
+    private void recordDuration(MethodWithArguments mwa, long startNanos) {
+        if (durationHistory != null) {
+            durationHistory.record(mwa, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Order a batch of parallel cases so the longest start first, which keeps
+     * workers from idling behind one slow case at the end of the batch. Cases
+     * that failed last time still come before all others.
+     */
+    private List<MethodWithArguments> scheduleOrder(List<MethodWithArguments> cases) {
+        if (durationHistory == null) {
+            return cases;
+        }
+
+        List<MethodWithArguments> ordered = durationHistory.longestFirst(cases);
+        return failureHistory == null ? ordered : failureHistory.failuresFirst(ordered);
+    }
+
+    /**
+     * Run cases one at a time, or a batch at a time if the theory is parallel,
+     * until there are no more or the theory's limit, if any, is reached.
+     *
+     * @return the number of cases run
+     */
+    private int runCases(Iterator<MethodWithArguments> cases, TheoryOptions options,
+            Consumer<MethodWithArguments> runCase) {
+
+        int casesRun = 0;
+        List<MethodWithArguments> batch = new ArrayList<>();
+        while (!options.isLimitReached() && cases.hasNext()) {
+            MethodWithArguments mwa = cases.next();
+            casesRun++;
+
+            if (!options.isParallel()) {
+                runCase.accept(mwa);
+                options.saveCheckpoint(mwa);
+            } else {
+                batch.add(mwa);
+                if (batch.size() == STREAMED_BATCH_SIZE || !cases.hasNext()) {
+                    List<Runnable> runnables = new ArrayList<>(batch.size());
+                    for (MethodWithArguments batchCase : scheduleOrder(batch)) {
+                        runnables.add(() -> runCase.accept(batchCase));
+                    }
+                    options.getBatchRunner().accept(runnables);
+                    // cases of a batch cut short by the limit may not have
+                    // run, so the checkpoint stays before the batch
+                    if (!options.isLimitReached()) {
+                        options.saveCheckpoint(mwa);
+                    }
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+
+        return casesRun;
+    }
+
+    /**
+     * Theories that reuse instances borrow one from the theory's pool for the
+     * duration of the case.
+     */
+    @Override
+    protected Statement methodBlock(FrameworkMethod method) {
+
+        TheoryOptions options = theories.get(method.getMethod());
+        InstancePool pool = options == null ? null : options.getInstancePool();
+        if (pool == null) {
+            return super.methodBlock(method);
+        }
+
+        InstancePool.Loan loan = pool.newLoan();
+        Statement statement;
+        currentLoan.set(loan);
+        try {
+            statement = super.methodBlock(method);
+        } finally {
+            currentLoan.remove();
+        }
+
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    statement.evaluate();
+                } finally {
+                    loan.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Cases call their theory through the handle bound for it, if any.
+     * Arguments that do not fit the parameters are left to reflection, so
+     * they are reported as they always were.
+     */
+    @Override
+    protected Statement methodInvoker(FrameworkMethod method, Object test) {
+
+        TheoryOptions options = theories.get(method.getMethod());
+        if (options != null && method instanceof MethodWithArguments) {
+            Statement bound = options.boundInvocation((MethodWithArguments) method, test);
+            if (bound != null) {
+                return bound;
+            }
         }
+        return super.methodInvoker(method, test);
+    }
+
+    @Override
+    protected Object createTest() throws Exception {
+
+        InstancePool.Loan loan = currentLoan.get();
+        if (loan == null) {
+            return newTestInstance();
+        }
+
+        Object instance = loan.borrow();
+        if (instance == null) {
+            instance = newTestInstance();
+            loan.hold(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Construct the test class through a method handle where possible, bound
+     * on first use. An exception from the constructor is thrown as it is, just
+     * as the caller would see it once it had unwrapped it from reflection.
+     */
+    private Object newTestInstance() throws Exception {
+
+        Optional<MethodHandle> bound = boundConstructor;
+        if (bound == null) {
+            bound = Optional.ofNullable(BoundMethods.constructor(getTestClass().getOnlyConstructor()));
+            boundConstructor = bound;
+        }
+        if (!bound.isPresent()) {
+            return super.createTest();
+        }
+
+        try {
+            return (Object) bound.get().invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private Description describeCase(String name) {
+        return Description.createTestDescription(getTestClass().getJavaClass(), name);
     }
 
     @Override
     protected Description describeChild(FrameworkMethod method) {
 
-        assert descriptions.containsKey(method);
+        Description description = descriptions.get(method);
 
-        return descriptions.get(method);
+        if (description == null) {
+            // cases of streamed theories, or all cases when descriptions are
+            // lazy, are described as they are needed and not kept
+            description = describeCase(method.getName());
+        }
+
+        return description;
 
     }
 
@@ -225,11 +943,14 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
         if (suiteDescription == null) {
 
             suiteDescription = Description.createSuiteDescription(getTestClass().getJavaClass());
-            descriptions = new IdentityHashMap<>();
-            checksByMethod = new ConcurrentHashMap<>();
+            descriptions = Collections.synchronizedMap(new IdentityHashMap<>());
+            theories = new HashMap<>();
+            parallelRunner = new ParallelCaseRunner(TheorySettings.parallelism());
             finder = new PotentialAssignmentFinder(getTestClass());
             constraints = new ConstraintFinder(getTestClass(), this::reportError);
             filter = Filter.ALL;
+            lazyDescriptions = TheorySettings.lazyDescriptions();
+            shardCount = TheorySettings.shardCount();
         }
     }
 
@@ -244,6 +965,11 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
         Description desc = Description.createTestDescription(suiteDescription.getTestClass(), fm.getName());
         LOG.debug("non-theory test {} ", fm);
 
+        if (Math.floorMod(fm.getName().hashCode(), shardCount) != shardIndex) {
+            LOG.debug("test {} is not in shard {}", fm, shardIndex);
+            return;
+        }
+
         if (filter.shouldRun(desc)) {
             LOG.trace("passes filter as {} ", desc);
 
@@ -266,21 +992,62 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
     private void recordTheoryCase(TheoriesWrapper runner, FrameworkMethod fm) {
 
         try {
-            Collection<MethodWithArguments> methodCases = new ArgumentGenerator(finder, constraints, fm)
-                    .computeTestMethodsWithArgs();
+            ArgumentGenerator generator = new ArgumentGenerator(finder, constraints, fm);
+            if (TheorySettings.findAnnotation(fm, getTestClass(), TimeBudget.class) != null) {
+                generator.orderForCoverage();
+            }
+            generator.inShard(shardIndex, shardCount);
             Description methodDescription = Description.createSuiteDescription(fm.getName());
 
+            if (TheorySettings.findAnnotation(fm, getTestClass(), Streaming.class) != null
+                    || TheorySettings.findAnnotation(fm, getTestClass(), Resumable.class) != null) {
+                recordStreamedTheory(generator, methodDescription);
+                return;
+            }
+
+            Collection<MethodWithArguments> methodCases = generator.computeTestMethodsWithArgs();
+
+            if (methodCases.isEmpty() && generator.hasCasesInOtherShards()) {
+                LOG.debug("theory {} has no cases in shard {}", fm, shardIndex);
+                return;
+            }
+
+            if (failureHistory != null && failureHistory.hasFailuresOf(fm.getMethod())) {
+                methodCases = failureHistory.failuresFirst(methodCases);
+                if (shardCount <= 1) {
+                    failureHistory.recordAllGenerated(fm.getMethod());
+                }
+            }
+
+            if (durationHistory != null && durationHistory.hasTimesOf(fm.getMethod())) {
+                methodCases.forEach(durationHistory::recordGenerated);
+                if (shardCount <= 1) {
+                    durationHistory.recordAllGenerated(fm.getMethod());
+                }
+            }
+
             if (filter.shouldRun(methodDescription)) {
 
                 descriptions.put(fm, methodDescription);
+                TheoryOptions options = new TheoryOptions(methodDescription)
+                        .withInvoker(fm.getMethod());
+                theories.put(fm.getMethod(), options);
 
                 suiteDescription.addChild(methodDescription);
                 if (methodCases.isEmpty()) {
                     reportError(new Error("No test cases found for " + fm + "; missing annotations?"));
                 } else {
-                    recordCases(methodDescription, methodCases);
-
-                    checksByMethod.put(fm.getMethod(), new AssumptionsFailureCounter(methodCases.size()));
+                    if (recordAggregation(fm, options)) {
+                        recordChunks(fm, options.getChunkSize(), methodDescription, methodCases);
+                    } else {
+                        recordCases(methodDescription, methodCases);
+                    }
+
+                    options.withAssumptionChecks(new AssumptionsFailureCounter(assumptionLimit(methodCases.size())));
+                    recordParallelism(fm, options);
+                    recordInstanceReuse(fm, options);
+                    recordCaseLimit(fm, generator, options);
+                    recordResultCaching(fm);
                     LOG.debug("theory {} has {} cases", fm, methodCases.size());
 
                 }
@@ -293,9 +1060,254 @@ public class TheorySuite extends BlockJUnit4ClassRunner {
         }
     }
 
+    /**
+     * Record a theory whose cases are only generated when it is run.
+     *
+     * @param generator
+     *            the generator for the theory's cases
+     * @param methodDescription
+     *            the description of the theory
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    private void recordStreamedTheory(ArgumentGenerator generator, Description methodDescription) throws Throwable {
+
+        if (!filter.shouldRun(methodDescription)) {
+            return;
+        }
+
+        TheoryCheckpoint checkpoint = openCheckpoint(generator);
+        boolean resuming = checkpoint != null && checkpoint.isResuming();
+        StreamedTheory theory = new StreamedTheory(generator);
+
+        if (!theory.hasCases() && generator.hasCasesInOtherShards() && !resuming) {
+            LOG.debug("theory {} has no cases in shard {}", theory, shardIndex);
+            return;
+        }
+
+        suiteDescription.addChild(methodDescription);
+        if (theory.hasCases() || resuming) {
+            TheoryOptions options = new TheoryOptions(methodDescription)
+                    .withInvoker(theory.getMethod()).withCheckpoint(checkpoint);
+            theories.put(theory.getMethod(), options);
+            allMethodsWithAllArgs.add(theory);
+            descriptions.put(theory, methodDescription);
+            recordParallelism(theory, options);
+            recordAggregation(theory, options);
+            recordInstanceReuse(theory, options);
+            recordCaseLimit(theory, generator, options);
+            recordResultCaching(theory);
+            LOG.debug("theory {} will be streamed", theory);
+        } else {
+            reportError(new Error("No test cases found for " + theory + "; missing annotations?"));
+        }
+    }
+
+    /**
+     * Open the checkpoint of a resumable theory, and if an interrupted run left
+     * one, only generate the cases it had not got to.
+     *
+     * @param generator
+     *            the generator for the theory's cases
+     * @return the checkpoint, or null if the theory is not resumable
+     * @throws Throwable
+     *             if the checkpoint could not be read, or something goes wrong
+     *             with test code calculating arguments
+     */
+    private TheoryCheckpoint openCheckpoint(ArgumentGenerator generator) throws Throwable {
+        FrameworkMethod fm = generator.getTestMethod();
+        Resumable resumable = TheorySettings.findAnnotation(fm, getTestClass(), Resumable.class);
+        if (resumable == null) {
+            return null;
+        }
+
+        TheoryCheckpoint checkpoint = TheoryCheckpoint.open(TheorySettings.stateDir(),
+                getTestClass().getJavaClass(), fm.getName(), generator.fingerprint(),
+                TheorySettings.durationMillis(resumable.value()));
+        if (checkpoint.isResuming()) {
+            generator.resumeAfter(checkpoint.getResumeOrdinal(), checkpoint.getResumeArgIndexes());
+        }
+        return checkpoint;
+    }
+
+    /**
+     * The number of cases failing assumptions at which a theory fails for
+     * never finding valid parameters. A shard only sees some of the cases, so
+     * cannot tell.
+     */
+    private int assumptionLimit(int cases) {
+        return shardCount > 1 ? Integer.MAX_VALUE : cases;
+    }
+
+    /**
+     * Work out how a theory's cases are run concurrently, if at all. An
+     * annotation on the theory takes precedence over one on the class.
+     *
+     * @param fm
+     *            the theory
+     * @param options
+     *            the options of the theory
+     */
+    private void recordParallelism(FrameworkMethod fm, TheoryOptions options) {
+
+        VirtualThreads virtualThreads = fm.getAnnotation(VirtualThreads.class);
+        Parallel parallel = fm.getAnnotation(Parallel.class);
+        if (virtualThreads == null && parallel == null) {
+            virtualThreads = TheorySettings.findAnnotation(fm, getTestClass(), VirtualThreads.class);
+            parallel = TheorySettings.findAnnotation(fm, getTestClass(), Parallel.class);
+        }
+
+        if (virtualThreads != null) {
+            int maxConcurrency = Math.max(1, virtualThreads.maxConcurrency());
+            options.withBatchRunner(batch -> parallelRunner.runOnThreadPerCase(batch, maxConcurrency));
+        } else if (parallel != null) {
+            options.withBatchRunner(parallelRunner::runAll);
+        }
+    }
+
+    private void recordInstanceReuse(FrameworkMethod fm, TheoryOptions options) {
+        if (TheorySettings.findAnnotation(fm, getTestClass(), ReuseInstance.class) != null) {
+            options.withInstancePool(new InstancePool());
+        }
+    }
+
+    /**
+     * Record how far a theory runs before its remaining cases are skipped, if
+     * there is any limit.
+     *
+     * @param fm
+     *            the theory
+     * @param generator
+     *            the generator for the theory's cases
+     * @param options
+     *            the options of the theory
+     * @throws Throwable
+     *             if the time budget is malformed, or something goes wrong
+     *             with test code calculating arguments
+     */
+    private void recordCaseLimit(FrameworkMethod fm, ArgumentGenerator generator, TheoryOptions options)
+            throws Throwable {
+        FailFast failFast = TheorySettings.findAnnotation(fm, getTestClass(), FailFast.class);
+        int maxFailures = failFast != null ? Math.max(1, failFast.value()) : TheorySettings.maxFailures();
+        TimeBudget timeBudget = TheorySettings.findAnnotation(fm, getTestClass(), TimeBudget.class);
+
+        if (maxFailures == 0 && timeBudget == null) {
+            return;
+        }
+
+        CaseLimit limit = new CaseLimit().withMaxFailures(maxFailures);
+        if (timeBudget != null) {
+            limit.withTimeBudget(timeBudget.value(), TheorySettings.durationMillis(timeBudget.value()),
+                    generator.newPairCoverage());
+        }
+        options.withLimit(limit);
+    }
+
+    /**
+     * Start tracking results for a theory whose passing cases are cached,
+     * against the bytecode of the test class, its superclasses and the
+     * classes the theory depends on. If earlier results cannot be read, the
+     * theory runs as if there were none; if the bytecode cannot be read, its
+     * results are not cached.
+     *
+     * @param fm
+     *            the theory
+     */
+    private void recordResultCaching(FrameworkMethod fm) {
+        CacheResults cacheResults = TheorySettings.findAnnotation(fm, getTestClass(), CacheResults.class);
+        if (cacheResults == null) {
+            return;
+        }
+
+        if (resultStore == null) {
+            try {
+                resultStore = ResultStore.open(TheorySettings.stateDir(), getTestClass().getJavaClass());
+            } catch (IOException e) {
+                LOG.warn("could not read cached results of {}", getTestClass().getName(), e);
+                resultStore = ResultStore.empty(TheorySettings.stateDir(), getTestClass().getJavaClass());
+            }
+        }
+
+        List<Class<?>> code = new ArrayList<>();
+        for (Class<?> c = getTestClass().getJavaClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            code.add(c);
+        }
+        code.addAll(Arrays.asList(cacheResults.dependsOn()));
+
+        try {
+            resultStore.track(fm.getMethod().getName(), ResultStore.codeDigest(code));
+        } catch (IOException e) {
+            LOG.warn("could not digest the code of {}, so its results are not cached", fm.getName(), e);
+        }
+    }
+
+    private void saveState() {
+        try {
+            if (resultStore != null) {
+                resultStore.save();
+            }
+            if (failureHistory != null) {
+                failureHistory.save();
+            }
+            if (durationHistory != null) {
+                durationHistory.save();
+            }
+        } catch (IOException e) {
+            LOG.warn("could not save results of {}", getTestClass().getName(), e);
+        }
+    }
+
+    /**
+     * Record whether the cases of a theory are reported in groups.
+     *
+     * @param fm
+     *            the theory
+     * @param options
+     *            the options of the theory
+     * @return true, if so
+     */
+    private boolean recordAggregation(FrameworkMethod fm, TheoryOptions options) {
+        Aggregated aggregated = TheorySettings.findAnnotation(fm, getTestClass(), Aggregated.class);
+
+        if (aggregated != null) {
+            options.withChunkSize(Math.max(0, aggregated.value()));
+        }
+
+        return aggregated != null;
+    }
+
+    private void recordChunks(FrameworkMethod fm, int chunkSize, Description methodDescription,
+            Collection<MethodWithArguments> methodCases) {
+
+        List<MethodWithArguments> allCases = new ArrayList<>(methodCases);
+
+        List<CaseChunk> chunks = new ArrayList<>();
+        if (chunkSize == 0) {
+            chunks.add(new CaseChunk(fm, allCases));
+        } else {
+            for (int first = 0; first < allCases.size(); first += chunkSize) {
+                int last = Math.min(first + chunkSize, allCases.size());
+                chunks.add(new CaseChunk(fm, allCases.subList(first, last), first + 1, last));
+            }
+        }
+
+        for (CaseChunk chunk : chunks) {
+            Description chunkDescription = Description.createTestDescription(getTestClass().getJavaClass(),
+                    chunk.getName());
+
+            allMethodsWithAllArgs.add(chunk);
+            methodDescription.addChild(chunkDescription);
+            descriptions.put(chunk, chunkDescription);
+        }
+    }
+
     private void recordCases(Description methodDescription, Collection<MethodWithArguments> methodCases) {
         allMethodsWithAllArgs.addAll(methodCases);
 
+        if (lazyDescriptions) {
+            return;
+        }
+
         for (MethodWithArguments testCase : methodCases) {
             Description testDescription = Description.createTestDescription(getTestClass().getJavaClass(),
                     testCase.getName());
@@ -0,0 +1,30 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Limit the wall-clock time spent running the cases of a theory. Cases are run
+ * in an order that covers as many pairs of argument values as early as
+ * possible: an all-pairs selection first, then the remaining combinations.
+ * Once the budget is spent, the rest are reported as skipped, along with the
+ * proportion of value pairs covered.
+ *
+ * The budget starts when the first case of the theory runs, and is only
+ * checked between cases.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface TimeBudget {
+
+    /**
+     *
+     * @return the budget as a number and a unit, one of ms, s, m or h; for
+     *         example "30s"
+     */
+    String value();
+
+}
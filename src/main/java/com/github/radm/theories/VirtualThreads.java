@@ -0,0 +1,27 @@
+package com.github.radm.theories;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Run each case of a theory on its own virtual thread, for theories that spend
+ * most of their time blocked, e.g. on I/O. At most {@link #maxConcurrency()}
+ * cases run at once.
+ *
+ * Virtual threads need Java 21 or later; on earlier versions each case runs on
+ * an ordinary platform thread instead, subject to the same limit.
+ */
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE })
+public @interface VirtualThreads {
+
+    /**
+     *
+     * @return the maximum number of cases running at once
+     */
+    int maxConcurrency() default 1000;
+
+}
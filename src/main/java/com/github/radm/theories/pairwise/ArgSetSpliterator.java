@@ -0,0 +1,102 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Split the combinations of argument values into ranges of their positions in
+ * exhaustive order, so they can be generated in parallel. Each range is
+ * generated on its own, starting straight at its first combination.
+ *
+ * Without constraints every position is a combination, so the size of each
+ * range is exact. With constraints it is only an upper bound, and ranges are
+ * generated by an exhaustive iterator that skips those failing them, and stops
+ * at the end of its range rather than searching into the next.
+ */
+class ArgSetSpliterator implements Spliterator<ArgVector> {
+
+    /** Ranges smaller than this are not split further. */
+    private static final long MIN_SPLIT = 64;
+
+    private final ArgumentSet args;
+
+    private final boolean constrained;
+
+    private long from;
+
+    private final long to;
+
+    private Iterator<ArgVector> constrainedIter;
+
+    /**
+     * Instantiates a new spliterator over a range of positions.
+     *
+     * @param args
+     *            the argument set
+     * @param from
+     *            the first position, inclusive
+     * @param to
+     *            the last position, exclusive
+     */
+    ArgSetSpliterator(ArgumentSet args, long from, long to) {
+        this.args = args;
+        this.constrained = args.isConstrained();
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ArgVector> action) {
+
+        if (!constrained) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(args.get(from++));
+            return true;
+        }
+
+        if (constrainedIter == null) {
+            constrainedIter = args.iteratorBetween(from, to);
+        }
+        if (!constrainedIter.hasNext()) {
+            from = to;
+            return false;
+        }
+
+        ArgVector next = constrainedIter.next();
+        from = args.indexOf(next) + 1;
+        action.accept(next);
+        return true;
+    }
+
+    @Override
+    public Spliterator<ArgVector> trySplit() {
+
+        // once generation has started, the rest of the range is left to it
+        if (constrainedIter != null || to - from < MIN_SPLIT) {
+            return null;
+        }
+
+        long mid = from + (to - from) / 2;
+        Spliterator<ArgVector> prefix = new ArgSetSpliterator(args, from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+        if (!constrained) {
+            characteristics |= SIZED | SUBSIZED;
+        }
+        return characteristics;
+    }
+
+}
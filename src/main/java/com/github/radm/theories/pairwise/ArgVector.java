@@ -28,7 +28,15 @@ public class ArgVector {
 
     }
 
-    private ArgVector(ArgumentSet argSet, int[] args) {
+    /**
+     * Instantiates a new arg vector with the given value indexes.
+     *
+     * @param argSet
+     *            the arg set
+     * @param args
+     *            the index of the value of each argument, copied
+     */
+    ArgVector(ArgumentSet argSet, int[] args) {
         super();
         this.argSet = argSet;
         this.args = args.clone();
@@ -72,6 +80,27 @@ public class ArgVector {
         return withValue;
     }
 
+    /**
+     * Reuse this vector for the first values of another, leaving the rest
+     * unset. The values array is updated in place rather than replaced, so
+     * should not be kept by anything that sees the vector.
+     *
+     * @param source
+     *            the index of the value of each argument
+     * @param length
+     *            the number of arguments to copy
+     */
+    void reuseFor(int[] source, int length) {
+        System.arraycopy(source, 0, args, 0, length);
+        Arrays.fill(args, length, args.length, -1);
+
+        if (argVals != null) {
+            for (int i = 0; i < args.length; i++) {
+                argVals[i] = args[i] >= 0 ? argSet.argsValues.get(i).get(args[i]) : null;
+            }
+        }
+    }
+
     private Object[] fillIn() {
 
         Object[] ret = new Object[args.length];
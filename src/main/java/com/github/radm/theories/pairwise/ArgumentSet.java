@@ -6,7 +6,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,7 +26,11 @@ public class ArgumentSet implements Iterable<ArgVector> {
     final List<String> argNames;
     final List<List<Object>> argsValues;
 
-    private final Map<String, Predicate<Object[]>> constraints = new HashMap<>();
+    private final Map<String, Predicate<ArgVector>> constraints = new HashMap<>();
+
+    private final Map<String, Predicate<ArgVector>> opaqueConstraints = new HashMap<>();
+
+    private final List<ProjectedConstraint> projectedConstraints = new ArrayList<>();
 
     /**
      * Instantiates a new argument set.
@@ -71,7 +78,64 @@ public class ArgumentSet implements Iterable<ArgVector> {
      * @return the argument set
      */
     public ArgumentSet withConstraint(String argName, Predicate<Object[]> constraint) {
-        Predicate<Object[]> existing = constraints.get(argName);
+        Predicate<ArgVector> check = av -> constraint.test(av.getArgVals());
+        opaqueConstraints.merge(argName, check, Predicate::and);
+        return addConstraint(argName, check);
+    }
+
+    /**
+     * Adds a constraint that only depends on some of the arguments. Its result
+     * is remembered for each combination of their values, so it is evaluated
+     * at most once per combination however many other arguments there are.
+     *
+     * @param argName
+     *            the arg name, which should be the last of the arguments the
+     *            constraint depends on
+     * @param columns
+     *            the index of each argument the constraint depends on
+     * @param constraint
+     *            the constraint, given the values of those arguments in the
+     *            same order as the indexes
+     * @return the argument set
+     */
+    public ArgumentSet withConstraint(String argName, int[] columns, Predicate<Object[]> constraint) {
+        ProjectedConstraint projected = new ProjectedConstraint(this, columns, constraint);
+        projectedConstraints.add(projected);
+        return addConstraint(argName, projected);
+    }
+
+    /**
+     * Adds a constraint that only depends on some of the arguments, evaluated
+     * straight away for every combination of their values, as long as there
+     * are few enough of them. Later checks then look up the result by the
+     * positions of the values, without calling the constraint.
+     *
+     * @param argName
+     *            the arg name, which should be the last of the arguments the
+     *            constraint depends on
+     * @param columns
+     *            the index of each argument the constraint depends on
+     * @param constraint
+     *            the constraint, given the values of those arguments in the
+     *            same order as the indexes
+     * @param maxCombinations
+     *            the most combinations to evaluate up front; with more, the
+     *            constraint is added as by
+     *            {@link #withConstraint(String, int[], Predicate)}
+     * @return the argument set
+     */
+    public ArgumentSet withTabulatedConstraint(String argName, int[] columns, Predicate<Object[]> constraint,
+            int maxCombinations) {
+        ProjectedConstraint projected = new ProjectedConstraint(this, columns, constraint);
+        if (projected.getCombinations() <= maxCombinations) {
+            projected.tabulate();
+        }
+        projectedConstraints.add(projected);
+        return addConstraint(argName, projected);
+    }
+
+    private ArgumentSet addConstraint(String argName, Predicate<ArgVector> constraint) {
+        Predicate<ArgVector> existing = constraints.get(argName);
         if (existing == null) {
             constraints.put(argName, constraint);
         } else {
@@ -87,12 +151,42 @@ public class ArgumentSet implements Iterable<ArgVector> {
      *            the argument index
      * @return the constraint, or null if none
      */
-    Predicate<Object[]> getConstraint(int argIndex) {
+    Predicate<ArgVector> getConstraint(int argIndex) {
         assert argIndex < argNames.size();
         return constraints.get(argNames.get(argIndex));
 
     }
 
+    /**
+     * Checks whether any constraints have been added.
+     *
+     * @return true, if so
+     */
+    public boolean isConstrained() {
+        return !constraints.isEmpty();
+    }
+
+    /**
+     * Gets the consolidated constraint added at an argument without saying
+     * which arguments it depends on.
+     *
+     * @param argIndex
+     *            the argument index
+     * @return the constraint, or null if none
+     */
+    Predicate<ArgVector> getOpaqueConstraint(int argIndex) {
+        return opaqueConstraints.get(argNames.get(argIndex));
+    }
+
+    /**
+     * Gets the constraints that say which arguments they depend on.
+     *
+     * @return the constraints
+     */
+    List<ProjectedConstraint> getProjectedConstraints() {
+        return projectedConstraints;
+    }
+
     /**
      * Iterate over all possible values of combinations or argument values
      */
@@ -101,6 +195,132 @@ public class ArgumentSet implements Iterable<ArgVector> {
         return new ExhaustiveIterator(this);
     }
 
+    /**
+     * Gets the number of combinations of argument values, ignoring constraints.
+     *
+     * @return the number of combinations
+     * @throws ArithmeticException
+     *             if there are too many to count in a long
+     */
+    public long size() {
+        long size = 1;
+        for (List<Object> values : argsValues) {
+            size = Math.multiplyExact(size, values.size());
+        }
+        return size;
+    }
+
+    /**
+     * Gets a combination of argument values by its position in the order of
+     * {@link #iterator()}, ignoring constraints: the last argument varies
+     * fastest.
+     *
+     * @param index
+     *            the position, from 0 to {@link #size()} - 1
+     * @return the combination
+     * @throws IndexOutOfBoundsException
+     *             if there is no combination at that position
+     */
+    public ArgVector get(long index) {
+
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No combination " + index + " of " + size());
+        }
+
+        ArgVector ret = new ArgVector(this);
+        long rest = index;
+        for (int i = argsValues.size() - 1; i >= 0; i--) {
+            int count = argsValues.get(i).size();
+            ret.args[i] = (int) (rest % count);
+            rest /= count;
+        }
+        return ret;
+    }
+
+    /**
+     * Gets the position of a combination of argument values in the order of
+     * {@link #iterator()}, ignoring constraints.
+     *
+     * @param av
+     *            the combination, with every argument set
+     * @return the position
+     */
+    long indexOf(ArgVector av) {
+        long index = 0;
+        for (int i = 0; i < av.args.length; i++) {
+            index = index * argsValues.get(i).size() + av.args[i];
+        }
+        return index;
+    }
+
+    /**
+     * Split the combinations of argument values, in the order of
+     * {@link #iterator()}, by ranges of their positions. Without constraints,
+     * the split is sized exactly.
+     */
+    @Override
+    public Spliterator<ArgVector> spliterator() {
+        try {
+            return new ArgSetSpliterator(this, 0, argNames.isEmpty() ? 0 : size());
+        } catch (ArithmeticException e) {
+            return Iterable.super.spliterator();
+        }
+    }
+
+    /**
+     * Stream the combinations of argument values in the order of
+     * {@link #iterator()}, applying constraints. The stream can be made
+     * parallel, with each thread generating a range of combinations.
+     *
+     * @return the stream
+     */
+    public Stream<ArgVector> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Iterate over the combinations of argument values that come after a given
+     * one, in the same order as {@link #iterator()}.
+     *
+     * @param after
+     *            the index of each argument of a combination returned by
+     *            {@link #iterator()}
+     * @return the iterator
+     * @throws IllegalArgumentException
+     *             if the indexes are not a combination of this set's values
+     */
+    public Iterator<ArgVector> iteratorAfter(int[] after) {
+
+        if (after.length != argNames.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + argNames.size() + " argument indexes but got " + after.length);
+        }
+        for (int i = 0; i < after.length; i++) {
+            if (after[i] < 0 || after[i] >= argsValues.get(i).size()) {
+                throw new IllegalArgumentException("No value " + after[i] + " for argument " + argNames.get(i));
+            }
+        }
+
+        return new ExhaustiveIterator(this, after, null);
+    }
+
+    /**
+     * Iterate over the combinations of argument values whose positions in the
+     * order of {@link #iterator()} lie in a range, applying constraints,
+     * without searching for combinations before or after it.
+     *
+     * @param from
+     *            the first position, inclusive
+     * @param to
+     *            the last position, exclusive
+     * @return the iterator
+     */
+    Iterator<ArgVector> iteratorBetween(long from, long to) {
+        int[] after = from == 0 ? null : get(from - 1).args;
+        int[] before = to >= size() ? null : get(to).args;
+        return new ExhaustiveIterator(this, after, before);
+    }
+
     /**
      * Iterate over all pairwise combinations of argument values.
      *
@@ -116,6 +336,22 @@ public class ArgumentSet implements Iterable<ArgVector> {
         return new PairwiseIterator(this);
     }
 
+    /**
+     * Iterate over all combinations of argument values, pairwise combinations
+     * first.
+     *
+     * @return the iterator
+     */
+    public Iterator<ArgVector> coverageFirstIterator() {
+
+        // with two arguments or fewer, every combination covers one new pair
+        if (argNames.size() <= 2) {
+            return iterator();
+        }
+
+        return new CoverageFirstIterator(this);
+    }
+
     /**
      * Gets the arg names in declaration order.
      *
@@ -125,4 +361,13 @@ public class ArgumentSet implements Iterable<ArgVector> {
         return argNames;
     }
 
+    /**
+     * Gets the potential values of each argument, in declaration order.
+     *
+     * @return the values
+     */
+    public List<List<Object>> getArgValues() {
+        return argsValues;
+    }
+
 }
@@ -0,0 +1,59 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Iterate over all combinations of argument values, starting with an all-pairs
+ * selection so that pair coverage grows as fast as possible, then the
+ * remaining combinations in exhaustive order.
+ */
+public class CoverageFirstIterator extends ArgSetIterator {
+
+    private final Iterator<ArgVector> pairwise;
+    private final Iterator<ArgVector> exhaustive;
+
+    /**
+     * Positions of the pairwise combinations among all combinations; sorted
+     * once the pairwise selection is done.
+     */
+    private long[] alreadyReturned = new long[16];
+    private int returnedCount;
+    private boolean sorted;
+
+    CoverageFirstIterator(ArgumentSet args) {
+        super(args);
+
+        pairwise = new PairwiseIterator(args);
+        exhaustive = new ExhaustiveIterator(args);
+    }
+
+    @Override
+    protected ArgVector computeNext() {
+
+        if (pairwise.hasNext()) {
+            ArgVector next = pairwise.next();
+            if (returnedCount == alreadyReturned.length) {
+                alreadyReturned = Arrays.copyOf(alreadyReturned, returnedCount * 2);
+            }
+            alreadyReturned[returnedCount++] = args.indexOf(next);
+            return next;
+        }
+
+        if (!sorted) {
+            Arrays.sort(alreadyReturned, 0, returnedCount);
+            sorted = true;
+        }
+
+        while (exhaustive.hasNext()) {
+            ArgVector next = exhaustive.next();
+            if (Arrays.binarySearch(alreadyReturned, 0, returnedCount, args.indexOf(next)) < 0) {
+                return next;
+            }
+        }
+
+        knownComplete = true;
+        return null;
+    }
+
+}
@@ -0,0 +1,387 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The pairwise coverage matrix: which pairs of values of every two columns
+ * have been selected, packed into one array of bits with the counts that
+ * guide selection alongside in arrays of primitives.
+ *
+ * The bits for columns i &lt; j start at their own offset, one for each pair of
+ * values, with the value of j varying fastest. For every column and value,
+ * the matrix also counts the pairs selected with each other column, from which
+ * its density is worked out: how much is left to cover with that value,
+ * summed over the other columns.
+ *
+ * The matrix notes which columns have had pairs selected since last asked, so
+ * that only their global densities need working out again.
+ */
+public class CoverageMatrix {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoverageMatrix.class);
+
+    private final int columns;
+
+    private final int[] numOptions;
+
+    /** First bit of the pairs of columns i &lt; j, at i * columns + j. */
+    private final long[] pairOffsets;
+
+    private final long[] bits;
+
+    /**
+     * For column c and value v, the pairs selected with column o, at
+     * countOffsets[c * columns + o] + v.
+     */
+    private final int[] countOffsets;
+    private final int[] valueCounts;
+
+    /** Columns whose global density changed since last asked. */
+    private final boolean[] densityChanged;
+
+    private final int pairCount;
+    private int selected;
+
+    /** Reused to weigh the values of a column. */
+    private final double[] weightScratch;
+
+    /**
+     * Instantiates a new, empty, coverage matrix.
+     *
+     * @param numOptions
+     *            the number of options per column
+     */
+    public CoverageMatrix(int[] numOptions) {
+
+        this.columns = numOptions.length;
+        this.numOptions = numOptions.clone();
+
+        pairOffsets = new long[columns * columns];
+        countOffsets = new int[columns * columns];
+
+        long bitCount = 0;
+        int counts = 0;
+        int maxOptions = 0;
+        for (int i = 0; i < columns; i++) {
+            maxOptions = Math.max(maxOptions, numOptions[i]);
+
+            for (int j = 0; j < columns; j++) {
+                if (i < j) {
+                    pairOffsets[i * columns + j] = bitCount;
+                    bitCount += (long) numOptions[i] * numOptions[j];
+                }
+                if (i != j) {
+                    countOffsets[i * columns + j] = counts;
+                    counts += numOptions[i];
+                }
+            }
+        }
+
+        bits = new long[Math.toIntExact((bitCount + 63) >>> 6)];
+        valueCounts = new int[counts];
+        pairCount = Math.toIntExact(bitCount);
+
+        densityChanged = new boolean[columns];
+        Arrays.fill(densityChanged, true);
+
+        weightScratch = new double[maxOptions];
+    }
+
+    private long bitOf(int colOne, int valueOne, int colTwo, int valueTwo) {
+        if (colOne < colTwo) {
+            return pairOffsets[colOne * columns + colTwo] + (long) valueOne * numOptions[colTwo] + valueTwo;
+        }
+        return pairOffsets[colTwo * columns + colOne] + (long) valueTwo * numOptions[colOne] + valueOne;
+    }
+
+    /**
+     * Checks if a pair of values is selected.
+     *
+     * @param colOne
+     *            the first column
+     * @param valueOne
+     *            its value
+     * @param colTwo
+     *            the second column, in either order with the first
+     * @param valueTwo
+     *            its value
+     * @return true, if is selected
+     */
+    public boolean isSelected(int colOne, int valueOne, int colTwo, int valueTwo) {
+        long bit = bitOf(colOne, valueOne, colTwo, valueTwo);
+        return (bits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Flag a pair of values as selected.
+     *
+     * @param colOne
+     *            the first column
+     * @param valueOne
+     *            its value
+     * @param colTwo
+     *            the second column, in either order with the first
+     * @param valueTwo
+     *            its value
+     * @return true, if the pair was not selected before
+     */
+    public boolean select(int colOne, int valueOne, int colTwo, int valueTwo) {
+        long bit = bitOf(colOne, valueOne, colTwo, valueTwo);
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+
+        LOG.trace("{}={}, {}={} selected", colOne, valueOne, colTwo, valueTwo);
+
+        bits[word] |= mask;
+        selected++;
+        valueCounts[countOffsets[colOne * columns + colTwo] + valueOne]++;
+        valueCounts[countOffsets[colTwo * columns + colOne] + valueTwo]++;
+        densityChanged[colOne] = true;
+        densityChanged[colTwo] = true;
+        return true;
+    }
+
+    /**
+     * Flag every pair of values in a row as selected.
+     *
+     * @param row
+     *            the value of each column
+     * @return the number of pairs not selected before
+     */
+    public int selectRow(int[] row) {
+        int newPairs = 0;
+        for (int i = 0; i < columns; i++) {
+            for (int j = i + 1; j < columns; j++) {
+                if (select(i, row[i], j, row[j])) {
+                    newPairs++;
+                }
+            }
+        }
+        return newPairs;
+    }
+
+    /**
+     * Checks whether every pair of values in a row is selected.
+     *
+     * @param row
+     *            the value of each column
+     * @return true, if so
+     */
+    public boolean isRowCovered(int[] row) {
+        for (int i = 0; i < columns; i++) {
+            for (int j = i + 1; j < columns; j++) {
+                if (!isSelected(i, row[i], j, row[j])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Flag everything not currently selected as unreachable, and everything
+     * selected as still to cover.
+     */
+    public void setAsHighWatermark() {
+
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = ~bits[i];
+        }
+        int lastBits = pairCount & 63;
+        if (lastBits != 0) {
+            bits[bits.length - 1] &= (1L << lastBits) - 1;
+        }
+
+        for (int i = 0; i < columns; i++) {
+            for (int other = 0; other < columns; other++) {
+                if (other != i) {
+                    int offset = countOffsets[i * columns + other];
+                    for (int value = 0; value < numOptions[i]; value++) {
+                        valueCounts[offset + value] = numOptions[other] - valueCounts[offset + value];
+                    }
+                }
+            }
+        }
+
+        selected = pairCount - selected;
+        Arrays.fill(densityChanged, true);
+    }
+
+    /** The density of a value from its pairs with one other column. */
+    private double densityOf(int col, int value, int other) {
+        final double target = numOptions[other];
+        return (1.0 - valueCounts[countOffsets[col * columns + other] + value] / target);
+    }
+
+    /**
+     * Checks if every pair of values is selected.
+     *
+     * @return true, if is complete
+     */
+    public boolean isComplete() {
+        return selected >= pairCount;
+    }
+
+    /**
+     * Gets the number of pairs of values selected, whether covered or, after
+     * {@link #setAsHighWatermark()}, unreachable.
+     *
+     * @return the number of pairs
+     */
+    public int getSelected() {
+        return selected;
+    }
+
+    /**
+     * Gets the number of pairs still to select.
+     *
+     * @return the number of pairs
+     */
+    public int getRemaining() {
+        return pairCount - selected;
+    }
+
+    /**
+     * Gets the number of pairs there were to cover, before any were found
+     * unreachable.
+     *
+     * @return the number of pairs
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Global density of a column.
+     *
+     * @param col
+     *            the column
+     * @return the combined density of all its possible values
+     */
+    public double globalDensity(int col) {
+        double density = 0;
+        for (int other = 0; other < columns; other++) {
+            if (other != col) {
+                for (int value = 0; value < numOptions[col]; value++) {
+                    density += densityOf(col, value, other);
+                }
+            }
+        }
+        return density;
+    }
+
+    /**
+     * Checks whether the global density of a column has changed since this
+     * was last asked, or since the matrix was made, and forgets that it has.
+     *
+     * @param col
+     *            the column
+     * @return true, if it has
+     */
+    public boolean takeDensityChanged(int col) {
+        boolean changed = densityChanged[col];
+        densityChanged[col] = false;
+        return changed;
+    }
+
+    /**
+     * Select the option of a column with greatest weight given a partial
+     * selection, without ordering the rest. Ties go to the first.
+     *
+     * @param col
+     *            the column
+     * @param partialSelection
+     *            the value of each column chosen so far, or -1
+     * @return the option
+     */
+    public int bestGiven(int col, int[] partialSelection) {
+
+        weigh(col, partialSelection);
+
+        int best = 0;
+        for (int value = 1; value < numOptions[col]; value++) {
+            if (precedes(value, best)) {
+                best = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Select options of a column in weight order given a partial selection,
+     * breaking ties as {@link #bestGiven(int, int[])} does.
+     *
+     * @param col
+     *            the column
+     * @param partialSelection
+     *            the value of each column chosen so far, or -1
+     * @return the options, best first
+     */
+    public int[] selectGiven(int col, int[] partialSelection) {
+
+        LOG.trace("select colummn {} given {}", col, partialSelection);
+
+        weigh(col, partialSelection);
+
+        int size = numOptions[col];
+        int[] options = new int[size];
+        for (int value = 0; value < size; value++) {
+            options[value] = value;
+        }
+        sort(options, new int[size], 0, size);
+        return options;
+    }
+
+    /**
+     * Weigh each value of a column into the scratch array: its density, less
+     * that of the pairs with chosen columns already selected.
+     */
+    private void weigh(int col, int[] partialSelection) {
+
+        assert partialSelection[col] < 0;
+
+        for (int value = 0; value < numOptions[col]; value++) {
+            double density = 0;
+            for (int other = 0; other < columns; other++) {
+                int otherValue = partialSelection[other];
+                if (other != col && (otherValue < 0 || !isSelected(col, value, other, otherValue))) {
+                    density += densityOf(col, value, other);
+                }
+            }
+            weightScratch[value] = density;
+        }
+    }
+
+    private boolean precedes(int a, int b) {
+        int byWeight = Double.compare(weightScratch[a], weightScratch[b]);
+        return byWeight != 0 ? byWeight > 0 : a < b;
+    }
+
+    /** Merge sort options from and up to indexes, by the scratch weights. */
+    private void sort(int[] options, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(options, buffer, from, mid);
+        sort(options, buffer, mid, to);
+
+        System.arraycopy(options, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < mid && !precedes(buffer[right], buffer[left])) {
+                options[i] = buffer[left++];
+            } else {
+                options[i] = buffer[right++];
+            }
+        }
+    }
+
+}
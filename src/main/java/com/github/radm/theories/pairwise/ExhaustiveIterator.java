@@ -1,152 +1,339 @@
 package com.github.radm.theories.pairwise;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
  * Exhaustively iterate over the contents of an argset, while applying
  * constraints.
+ *
+ * Arguments are chosen in order, depth first. Constraints that declare which
+ * arguments they depend on are checked forward: as soon as all but one of
+ * their arguments are chosen, they rule out values of the remaining one. A
+ * choice that leaves some later argument with no values at all is abandoned
+ * straight away, rather than found to be a dead end only once every
+ * combination below it has been tried. Other constraints are checked once the
+ * argument they were added at is chosen.
+ *
+ * The search works on arrays of value indexes allocated up front, like an
+ * odometer whose wheels only show the values still possible, so the only
+ * allocation per combination is the vector returned. It can be limited to a
+ * range of combinations, in which case it stops as soon as the values chosen
+ * pass the end of the range, without checking constraints beyond it.
  */
 public class ExhaustiveIterator extends ArgSetIterator {
 
-    private Iterator<Object> valIter;
-    private final ExhaustiveIterator nextColumn;
-    private final ExhaustiveIterator prevColumn;
+    private final int columns;
 
-    private Object currValue;
-    private int currIndex = -1;
+    /** The value chosen for each argument so far. */
+    private final int[] current;
 
-    private final int argIndex;
-    private final Predicate<Object[]> predicate;
+    /** For each argument, the position of its current value in its domain. */
+    private final int[] pos;
 
-    ExhaustiveIterator(ArgumentSet argumentSet) {
-        this(argumentSet, null);
-    }
+    /**
+     * The values still possible for each argument, once the arguments before a
+     * given depth are chosen: domains[depth][col], of which the first
+     * domainSizes[depth][col] are used.
+     */
+    private final int[][][] domains;
+    private final int[][] domainSizes;
 
-    private ExhaustiveIterator(ArgumentSet argumentSet, ExhaustiveIterator prevColumn) {
+    /** Storage for domains narrowed at each depth. */
+    private final int[][][] narrowed;
 
-        super(argumentSet);
-        this.prevColumn = prevColumn;
-        if (prevColumn == null) {
-            argIndex = 0;
-        } else {
-            argIndex = prevColumn.argIndex + 1;
-        }
+    /** Constraints to check forward from one argument to a later one. */
+    private final List<List<List<ProjectedConstraint>>> forward;
 
-        nextColumn = makeNextColumn();
-        valIter = makeIter();
+    private final List<Predicate<ArgVector>> opaque = new ArrayList<>();
 
-        predicate = args.getConstraint(argIndex);
+    /** Reused to check constraints against a partial combination. */
+    private final ArgVector scratch;
 
-    }
+    /** Deepest argument chosen, or -1 before the first combination. */
+    private int depth = -1;
 
-    private Iterator<Object> makeIter() {
-        return args.argsValues.get(argIndex).iterator();
-    }
+    /** The first combination past the end of the range, or null if none. */
+    private int[] before;
+
+    /**
+     * Whether the arguments before each depth are chosen as in the first
+     * combination past the range.
+     */
+    private final boolean[] atBound;
+
+    ExhaustiveIterator(ArgumentSet argumentSet) {
+
+        super(argumentSet);
+        columns = args.argNames.size();
+        current = new int[columns];
+        pos = new int[columns];
+        domains = new int[columns + 1][columns][];
+        domainSizes = new int[columns + 1][columns];
+        narrowed = new int[columns + 1][columns][];
+        scratch = new ArgVector(args);
+        atBound = new boolean[columns + 1];
 
-    private ExhaustiveIterator makeNextColumn() {
-        if (argIndex < args.argNames.size() - 1) {
-            return new ExhaustiveIterator(args, this);
+        for (int col = 0; col < columns; col++) {
+            opaque.add(args.getOpaqueConstraint(col));
+            for (int d = 1; d <= col; d++) {
+                narrowed[d][col] = new int[args.argsValues.get(col).size()];
+            }
         }
-        return null;
-    }
 
-    @Override
-    protected ArgVector computeNext() {
-        if (predicate == null) {
-            return computeNextSimple();
+        forward = new ArrayList<>(columns);
+        for (int col = 0; col < columns; col++) {
+            List<List<ProjectedConstraint>> fromCol = new ArrayList<>(columns);
+            for (int later = 0; later < columns; later++) {
+                fromCol.add(new ArrayList<>());
+            }
+            forward.add(fromCol);
         }
-        return computeNextPassingPredicate();
-    }
 
-    protected ArgVector computeNextPassingPredicate() {
-        ArgVector candidate = computeNextSimple();
-        boolean requiresReset = false;
-        while (!predicate.test(populateResult().getArgVals()) && !knownComplete) {
-            if (ArgumentSet.LOG.isTraceEnabled()) {
-                ArgumentSet.LOG.trace("Rejected {} by predicate on {}", populateResult(), args.argNames.get(argIndex));
+        List<List<ProjectedConstraint>> unary = new ArrayList<>(columns);
+        for (int col = 0; col < columns; col++) {
+            unary.add(new ArrayList<>());
+        }
+
+        for (ProjectedConstraint constraint : args.getProjectedConstraints()) {
+            int[] cols = constraint.getColumns();
+            int last = -1;
+            int secondLast = -1;
+            for (int col : cols) {
+                if (col > last) {
+                    secondLast = last;
+                    last = col;
+                } else if (col > secondLast && col != last) {
+                    secondLast = col;
+                }
             }
-            if (valIter.hasNext()) {
-                currValue = valIter.next();
-                currIndex++;
+
+            if (secondLast < 0) {
+                unary.get(last).add(constraint);
             } else {
-                knownComplete = true;
+                forward.get(secondLast).get(last).add(constraint);
             }
-            requiresReset = true;
         }
-        if (requiresReset && !knownComplete) {
-            if (nextColumn != null) {
-                nextColumn.reset();
-                candidate = computeNextSimple();
-            } else {
-                candidate = populateResult();
+
+        boolean empty = columns == 0;
+        for (int col = 0; col < columns; col++) {
+            int size = args.argsValues.get(col).size();
+            int[] domain = new int[size];
+            int kept = 0;
+            for (int v = 0; v < size; v++) {
+                current[col] = v;
+                if (passesAll(unary.get(col))) {
+                    domain[kept++] = v;
+                }
             }
+            domains[0][col] = domain;
+            domainSizes[0][col] = kept;
+            empty |= kept == 0;
         }
-        return candidate;
+        knownComplete = empty;
     }
 
     /**
-     * copying a trick from Guava, combine next and hasNext into a single
-     * function with extra intermediate storage & a flag.
+     * Iterate over a range of combinations, without generating the ones before
+     * or after it.
      *
-     * @return next object, or null.
+     * @param argumentSet
+     *            the argument set
+     * @param after
+     *            the combination just before the range, as returned by an
+     *            earlier iteration, or null to start at the first
+     * @param before
+     *            the combination just after the range, or null to run to the
+     *            last
      */
-    protected ArgVector computeNextSimple() {
+    ExhaustiveIterator(ArgumentSet argumentSet, int[] after, int[] before) {
+        this(argumentSet);
+        this.before = before;
+        atBound[0] = before != null;
+        if (!knownComplete && after != null) {
+            seek(after);
+        }
+    }
 
-        if (nextColumn == null) {
-            if (valIter.hasNext()) {
-                currValue = valIter.next();
-                currIndex++;
-                return populateResult();
+    /**
+     * Iterate over only the combinations with given values for some
+     * arguments.
+     *
+     * @param argumentSet
+     *            the argument set
+     * @param values
+     *            the position of the value of each argument, or -1 where any
+     *            value will do
+     * @return the iterator
+     */
+    static ExhaustiveIterator withValues(ArgumentSet argumentSet, int[] values) {
+        ExhaustiveIterator iter = new ExhaustiveIterator(argumentSet);
+        for (int col = 0; col < values.length && !iter.knownComplete; col++) {
+            if (values[col] >= 0) {
+                iter.pin(col, values[col]);
             }
-            knownComplete = true;
-            return null;
         }
+        return iter;
+    }
 
-        if (currValue == null && valIter.hasNext()) {
-            currValue = valIter.next();
-            currIndex++;
+    private void pin(int col, int value) {
+        int[] domain = domains[0][col];
+        for (int i = 0; i < domainSizes[0][col]; i++) {
+            if (domain[i] == value) {
+                domains[0][col] = new int[] { value };
+                domainSizes[0][col] = 1;
+                return;
+            }
         }
+        knownComplete = true;
+    }
 
-        if (nextColumn.hasNext()) {
+    @Override
+    protected ArgVector computeNext() {
 
-            return nextColumn.next();
+        int col = depth;
+        if (col < 0) {
+            col = 0;
+            pos[0] = -1;
         }
-        while (valIter.hasNext()) {
-            nextColumn.reset();
-            currValue = valIter.next();
-            currIndex++;
-            if (nextColumn.hasNext()) {
-                return nextColumn.next();
+
+        while (col >= 0) {
+            if (++pos[col] >= domainSizes[col][col]) {
+                col--;
+                continue;
+            }
+
+            current[col] = domains[col][col][pos[col]];
+            if (isPastRange(col)) {
+                break;
+            }
+            if (!choose(col)) {
+                continue;
+            }
+
+            if (col == columns - 1) {
+                depth = col;
+                return populateResult();
             }
+            col++;
+            pos[col] = -1;
         }
 
         knownComplete = true;
         return null;
+    }
 
+    /**
+     * Check whether the value just chosen for an argument takes the search
+     * past the end of its range, noting whether the arguments so far are
+     * still chosen as in the first combination past it. Values are tried in
+     * order, so once past the end, everything that follows is too.
+     */
+    private boolean isPastRange(int col) {
+        if (!atBound[col]) {
+            atBound[col + 1] = false;
+            return false;
+        }
+        atBound[col + 1] = current[col] == before[col];
+        return current[col] > before[col] || atBound[col + 1] && col == columns - 1;
     }
 
-    private ArgVector populateResult() {
-        ArgVector ret = new ArgVector(args);
+    /**
+     * Check the value just chosen for an argument, and narrow the values of
+     * later arguments to those still possible.
+     *
+     * @return false if the value fails a constraint or leaves a later argument
+     *         without values
+     */
+    private boolean choose(int col) {
+
+        Predicate<ArgVector> check = opaque.get(col);
+        if (check != null) {
+            scratch.reuseFor(current, col + 1);
+            if (!check.test(scratch)) {
+                if (ArgumentSet.LOG.isTraceEnabled()) {
+                    ArgumentSet.LOG.trace("Rejected {} by predicate on {}", scratch, args.argNames.get(col));
+                }
+                return false;
+            }
+        }
+
+        for (int later = col + 1; later < columns; later++) {
+            List<ProjectedConstraint> constraints = forward.get(col).get(later);
+            int[] domain = domains[col][later];
+            int size = domainSizes[col][later];
+
+            if (constraints.isEmpty()) {
+                domains[col + 1][later] = domain;
+                domainSizes[col + 1][later] = size;
+                continue;
+            }
 
-        ExhaustiveIterator it = this;
-        for (int i = argIndex; i >= 0; i--) {
-            ret.args[i] = it.currIndex;
-            it = it.prevColumn;
+            int[] kept = narrowed[col + 1][later];
+            int keptSize = 0;
+            for (int i = 0; i < size; i++) {
+                current[later] = domain[i];
+                if (passesAll(constraints)) {
+                    kept[keptSize++] = domain[i];
+                }
+            }
+            if (keptSize == 0) {
+                return false;
+            }
+            domains[col + 1][later] = kept;
+            domainSizes[col + 1][later] = keptSize;
         }
 
-        return ret;
+        return true;
+    }
+
+    private boolean passesAll(List<ProjectedConstraint> constraints) {
+        for (ProjectedConstraint constraint : constraints) {
+            if (!constraint.test(current)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private void reset() {
-        valIter = makeIter();
-        knownComplete = false;
-        currValue = null;
-        currIndex = -1;
-        nextValue = null;
-        if (nextColumn != null) {
-            nextColumn.reset();
+    /**
+     * Position the search on a combination, so the next one returned follows
+     * it; or, if the combination cannot be returned, on the last one before
+     * it that could.
+     */
+    private void seek(int[] after) {
+
+        for (int col = 0; col < columns; col++) {
+            int size = domainSizes[col][col];
+            int[] domain = domains[col][col];
+            int p = 0;
+            while (p < size && domain[p] < after[col]) {
+                p++;
+            }
+
+            depth = col;
+            if (p == size || domain[p] != after[col]) {
+                // the next value along is the first after this one
+                pos[col] = p - 1;
+                return;
+            }
+
+            pos[col] = p;
+            current[col] = after[col];
+            if (isPastRange(col)) {
+                knownComplete = true;
+                return;
+            }
+            // the combination itself is not returned again, so is not checked
+            if (col == columns - 1 || !choose(col)) {
+                return;
+            }
         }
     }
 
-}
+    private ArgVector populateResult() {
+        return new ArgVector(args, current);
+    }
+
+}
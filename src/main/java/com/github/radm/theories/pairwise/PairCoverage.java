@@ -0,0 +1,55 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.List;
+
+/**
+ * The pairs of argument values covered by the argument vectors recorded so
+ * far. Safe to use from concurrently running cases.
+ *
+ * The total takes no account of constraints, so with constraints full coverage
+ * may not be reachable.
+ */
+public class PairCoverage {
+
+    private final CoverageMatrix coverage;
+
+    /**
+     * Instantiates a new, empty, pair coverage.
+     *
+     * @param args
+     *            the argument set
+     */
+    public PairCoverage(ArgumentSet args) {
+
+        coverage = new CoverageMatrix(args.argsValues.stream().mapToInt(List::size).toArray());
+    }
+
+    /**
+     * Record the pairs in an argument vector as covered.
+     *
+     * @param argIndexes
+     *            the index of the value of each argument
+     */
+    public synchronized void record(int[] argIndexes) {
+        coverage.selectRow(argIndexes);
+    }
+
+    /**
+     * Gets the number of pairs covered so far.
+     *
+     * @return the number of pairs
+     */
+    public synchronized int getPairsCovered() {
+        return coverage.getSelected();
+    }
+
+    /**
+     * Gets the total number of pairs of argument values.
+     *
+     * @return the number of pairs
+     */
+    public int getPairCount() {
+        return coverage.getPairCount();
+    }
+
+}
@@ -1,7 +1,5 @@
 package com.github.radm.theories.pairwise;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -15,8 +13,16 @@ import java.util.stream.IntStream;
  */
 public class PairwiseIterator extends ArgSetIterator {
 
-    private final List<PairWiseState> columnStates = new ArrayList<>();
-    private final List<SinglePairState> cellStates;
+    private final CoverageMatrix coverage;
+
+    /**
+     * Columns in order of descending global density, then column number, as
+     * of the last reordering.
+     */
+    private final int[] columnOrder;
+
+    /** The global density of each column, as of the last reordering. */
+    private final double[] densities;
 
     private final int tableSize;
 
@@ -28,137 +34,143 @@ public class PairwiseIterator extends ArgSetIterator {
         int[] argCounts = args.argsValues.stream().mapToInt(List::size).toArray();
 
         tableSize = argCounts.length;
-        cellStates = new ArrayList<>((tableSize * (tableSize - 1)) / 2);
-
-        for (int i = 0; i < tableSize; i++) {
-            for (int j = 0; j < tableSize; j++) {
-                if (i < j) {
-                    cellStates.add(new SinglePairState(i, j, argCounts));
-                }
-            }
-        }
-
-        for (int i = 0; i < tableSize; i++) {
-            final int col = i;
-            List<SinglePairState> crossStates = new ArrayList<>(tableSize - 1);
-
-            cellStates.stream().filter(cs -> cs.colOne == col || cs.colTwo == col).forEach(crossStates::add);
-
-            columnStates.add(new PairWiseState(argCounts, i, crossStates));
-        }
+        coverage = new CoverageMatrix(argCounts);
 
         hasConstraint = IntStream.range(0, tableSize).anyMatch(i -> args.getConstraint(i) != null);
 
         if (hasConstraint) {
             setupConstrainedCoverageTargets();
         }
+
+        columnOrder = IntStream.range(0, tableSize).toArray();
+        densities = new double[tableSize];
+        reorderColumns();
     }
 
     @Override
     protected ArgVector computeNext() {
 
-        if (isCoverageComplete()) {
+        if (coverage.isComplete()) {
             knownComplete = true;
             return null;
         }
 
         ArgVector selection = new ArgVector(args);
 
-        List<PairWiseState> updateOrder = new ArrayList<>(columnStates);
         if (hasConstraint) {
-            constrainedSelect(updateOrder, selection);
+            constrainedSelect(selection);
             if (knownComplete) {
                 return null;
             }
         } else {
-            updateOrder.sort(Comparator.comparingDouble(PairWiseState::globalDensity).reversed());
-            for (PairWiseState pws : updateOrder) {
-                selection.args[pws.getColumn()] = pws.selectGiven(selection.args).get(0);
+            reorderColumns();
+            for (int col : columnOrder) {
+                selection.args[col] = coverage.bestGiven(col, selection.args);
             }
         }
 
         // we have a valid useful selection, so updates coverage state and
         // return it.
-        markAsCovered(selection);
+        coverage.selectRow(selection.args);
 
         return selection;
     }
 
-    private void markAsCovered(ArgVector selection) {
-        for (SinglePairState sps : cellStates) {
-            sps.select(selection.args[sps.colOne], selection.args[sps.colTwo]);
+    /**
+     * Work out again the densities of just the columns with pairs selected
+     * since last time, summed as before so that they come out the same, then
+     * put the columns back in order. They change only a little with each
+     * selection, so the columns are nearly in order already and an insertion
+     * sort puts them back in little more than a pass.
+     */
+    private void reorderColumns() {
+        for (int col = 0; col < tableSize; col++) {
+            if (coverage.takeDensityChanged(col)) {
+                densities[col] = coverage.globalDensity(col);
+            }
+        }
+        for (int i = 1; i < tableSize; i++) {
+            int col = columnOrder[i];
+            int j = i - 1;
+            for (; j >= 0 && isDenser(col, columnOrder[j]); j--) {
+                columnOrder[j + 1] = columnOrder[j];
+            }
+            columnOrder[j + 1] = col;
         }
     }
 
+    private boolean isDenser(int colOne, int colTwo) {
+        int byDensity = Double.compare(densities[colOne], densities[colTwo]);
+        return byDensity != 0 ? byDensity > 0 : colOne < colTwo;
+    }
+
     /**
      * Do an exhaustive search from starting point until we find something
      * passing constraints.
      *
-     * @param updateOrder
-     *            order in which to check columns
      * @param selection
      *            empty selection
      */
-    private void constrainedSelect(List<PairWiseState> updateOrder, ArgVector selection) {
+    private void constrainedSelect(ArgVector selection) {
 
-        final int size = updateOrder.size();
+        final int size = tableSize;
         int[] skipCounts = new int[size];
         int col = 0;
         while (col < size) {
-            PairWiseState pws = updateOrder.get(col);
-
-            final List<Integer> sortedOptions = pws.selectGiven(selection.args);
-
-            final Predicate<Object[]> constraint = args.getConstraint(col);
-            if (constraint != null) {
-
-                final Predicate<Integer> wrappedConstraint = selVal -> !constraint
-                        .test(selection.withValue(selVal, pws.getColumn()).getArgVals());
-                sortedOptions.removeIf(wrappedConstraint);
-            }
-
-            // ensure dealing with constraints hasn't made the selection dead
-            // coverage-wise
-            if (col == size - 1) {
-                sortedOptions.removeIf(selVal -> alreadyCovered(selection.withValue(selVal, pws.getColumn())));
+            final int[] sortedOptions = coverage.selectGiven(col, selection.args);
+            final Predicate<ArgVector> constraint = args.getConstraint(col);
+
+            int kept = 0;
+            for (int selVal : sortedOptions) {
+                ArgVector candidate = selection.withValue(selVal, col);
+                if (constraint != null && !constraint.test(candidate)) {
+                    continue;
+                }
+                // ensure dealing with constraints hasn't made the selection
+                // dead coverage-wise
+                if (col == size - 1 && coverage.isRowCovered(candidate.args)) {
+                    continue;
+                }
+                sortedOptions[kept++] = selVal;
             }
 
-            if (sortedOptions.size() > skipCounts[col]) {
-                selection.args[pws.getColumn()] = sortedOptions.get(skipCounts[col]);
+            if (kept > skipCounts[col]) {
+                selection.args[col] = sortedOptions[skipCounts[col]];
                 col++;
             } else {
                 skipCounts[col] = 0;
                 col--;
-                selection.args[col] = -1;
                 if (col < 0) {
                     knownComplete = true;
-                } else {
-                    skipCounts[col]++;
+                    return;
                 }
+                selection.args[col] = -1;
+                skipCounts[col]++;
             }
         }
     }
 
-    private boolean alreadyCovered(ArgVector av) {
-        return cellStates.stream().allMatch(cs -> cs.isSelected(av.args[cs.colOne], av.args[cs.colTwo]));
-    }
-
     /**
-     * if constraints exist, we have to do an exhaustive iteration to get the
-     * target pairwise coverage statistics
+     * if constraints exist, only the pairs found in some combination passing
+     * them can be covered, so those are the target
      */
     private void setupConstrainedCoverageTargets() {
-        for (ArgVector av : args) {
-            markAsCovered(av);
+        ReachablePairs reachable = new ReachablePairs(args, coverage::selectRow);
+
+        for (int colOne = 0; colOne < tableSize; colOne++) {
+            for (int colTwo = colOne + 1; colTwo < tableSize; colTwo++) {
+                for (int one = 0; one < args.argsValues.get(colOne).size(); one++) {
+                    for (int two = 0; two < args.argsValues.get(colTwo).size(); two++) {
+                        if (!coverage.isSelected(colOne, one, colTwo, two)
+                                && reachable.isReachable(colOne, one, colTwo, two)) {
+                            coverage.select(colOne, one, colTwo, two);
+                        }
+                    }
+                }
+            }
         }
 
-        cellStates.forEach(cs -> cs.setAsHighWatermark());
-    }
-
-    private boolean isCoverageComplete() {
-
-        return cellStates.stream().allMatch(SinglePairState::isComplete);
-
+        coverage.setAsHighWatermark();
     }
 
 }
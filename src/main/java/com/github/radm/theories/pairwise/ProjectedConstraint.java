@@ -0,0 +1,165 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * A constraint that only depends on some of the arguments, so its result is
+ * remembered for each combination of their values rather than evaluated again
+ * for every combination of the other arguments.
+ *
+ * Results are kept in a table indexed by the positions of the values, as long
+ * as the number of combinations is small enough; beyond that the constraint is
+ * evaluated every time. The table is filled in as combinations are seen, or
+ * all at once by {@link #tabulate()}.
+ */
+class ProjectedConstraint implements Predicate<ArgVector> {
+
+    /** The largest number of combinations whose results are remembered. */
+    static final int MAX_TABLE_SIZE = 1 << 20;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte PASSES = 1;
+    private static final byte FAILS = 2;
+
+    private final ArgumentSet argSet;
+
+    private final int[] columns;
+
+    private final Predicate<Object[]> constraint;
+
+    private final long combinations;
+
+    private byte[] results;
+
+    private BitSet passing;
+
+    /**
+     * Instantiates a new projected constraint.
+     *
+     * @param argSet
+     *            the argument set
+     * @param columns
+     *            the index of each argument the constraint depends on
+     * @param constraint
+     *            the constraint, given the values of those arguments in the
+     *            same order
+     */
+    ProjectedConstraint(ArgumentSet argSet, int[] columns, Predicate<Object[]> constraint) {
+        this.argSet = argSet;
+        this.columns = columns.clone();
+        this.constraint = constraint;
+
+        long count = 1;
+        for (int col : columns) {
+            count *= argSet.argsValues.get(col).size();
+            if (count > MAX_TABLE_SIZE) {
+                break;
+            }
+        }
+        combinations = count;
+        results = combinations <= MAX_TABLE_SIZE ? new byte[(int) combinations] : null;
+    }
+
+    /**
+     * Gets the number of combinations of the values the constraint depends on.
+     *
+     * @return the number, or more than {@link #MAX_TABLE_SIZE} if too many to
+     *         tabulate
+     */
+    long getCombinations() {
+        return combinations;
+    }
+
+    /**
+     * Evaluate the constraint for every combination of the values it depends
+     * on now, so later checks only look up a bit.
+     */
+    void tabulate() {
+        if (combinations > MAX_TABLE_SIZE) {
+            return;
+        }
+
+        BitSet table = new BitSet((int) combinations);
+        int[] argIndexes = new int[argSet.argNames.size()];
+        for (int key = 0; key < combinations; key++) {
+            // decode the key, least significant column last
+            int rest = key;
+            for (int i = columns.length - 1; i >= 0; i--) {
+                int size = argSet.argsValues.get(columns[i]).size();
+                argIndexes[columns[i]] = rest % size;
+                rest /= size;
+            }
+            table.set(key, evaluate(argIndexes));
+        }
+
+        passing = table;
+        results = null;
+    }
+
+    /**
+     * Gets the index of each argument the constraint depends on.
+     *
+     * @return the indexes
+     */
+    int[] getColumns() {
+        return columns;
+    }
+
+    @Override
+    public boolean test(ArgVector av) {
+        return test(av.args);
+    }
+
+    /**
+     * Check the constraint against the values at some positions. Only the
+     * positions of the arguments the constraint depends on are looked at.
+     *
+     * @param argIndexes
+     *            the position of the value of each argument
+     * @return true, if the constraint passes
+     */
+    boolean test(int[] argIndexes) {
+
+        int key = results == null && passing == null ? -1 : keyOf(argIndexes);
+        if (key < 0) {
+            return evaluate(argIndexes);
+        }
+        if (passing != null) {
+            return passing.get(key);
+        }
+
+        // racing writers store the same result, so no locking is needed
+        byte result = results[key];
+        if (result == UNKNOWN) {
+            result = evaluate(argIndexes) ? PASSES : FAILS;
+            results[key] = result;
+        }
+        return result == PASSES;
+    }
+
+    /**
+     * Position of the projected values in the table, in mixed radix.
+     *
+     * @return the key, or -1 if some of the values are not yet chosen
+     */
+    private int keyOf(int[] argIndexes) {
+        int key = 0;
+        for (int col : columns) {
+            if (argIndexes[col] < 0) {
+                return -1;
+            }
+            key = key * argSet.argsValues.get(col).size() + argIndexes[col];
+        }
+        return key;
+    }
+
+    private boolean evaluate(int[] argIndexes) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = argSet.argsValues.get(columns[i]).get(argIndexes[columns[i]]);
+        }
+        return constraint.test(values);
+    }
+
+}
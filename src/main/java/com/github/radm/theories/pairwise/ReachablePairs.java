@@ -0,0 +1,201 @@
+package com.github.radm.theories.pairwise;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Find which values, and pairs of values, of the arguments appear in at least
+ * one combination passing the constraints, without generating every
+ * combination.
+ *
+ * Arguments linked by constraints, directly or through other arguments, form
+ * groups whose values are independent of each other. A value or pair is
+ * looked for by a search that pins it, and pins the arguments of every other
+ * group to a combination already known to pass, so only the arguments of its
+ * own group are backtracked over. Each combination found settles every other
+ * pair in it too, so most pairs need no search of their own.
+ */
+class ReachablePairs {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte REACHABLE = 1;
+    private static final byte UNREACHABLE = 2;
+
+    private final ArgumentSet args;
+
+    private final Consumer<int[]> onFound;
+
+    private final int columns;
+
+    /** The group of each argument, named by one of its arguments. */
+    private final int[] group;
+
+    private final byte[][] valueStates;
+
+    /** A combination passing the constraints, or null if there is none. */
+    private final int[] witness;
+
+    /**
+     * Instantiates a new search for reachable pairs.
+     *
+     * @param args
+     *            the argument set
+     * @param onFound
+     *            told of each combination passing the constraints that is
+     *            found on the way
+     */
+    ReachablePairs(ArgumentSet args, Consumer<int[]> onFound) {
+        this.args = args;
+        this.onFound = onFound;
+        columns = args.argNames.size();
+        group = linkedGroups();
+
+        valueStates = new byte[columns][];
+        for (int col = 0; col < columns; col++) {
+            valueStates[col] = new byte[args.argsValues.get(col).size()];
+        }
+
+        int[] anyValues = new int[columns];
+        Arrays.fill(anyValues, -1);
+        witness = search(anyValues, null);
+    }
+
+    /**
+     * Checks whether a value of an argument appears in any combination passing
+     * the constraints.
+     *
+     * @param col
+     *            the argument
+     * @param value
+     *            the position of its value
+     * @return true, if so
+     */
+    boolean isReachable(int col, int value) {
+
+        if (witness == null) {
+            return false;
+        }
+        if (valueStates[col][value] == UNKNOWN) {
+            int[] values = new int[columns];
+            Arrays.fill(values, -1);
+            values[col] = value;
+            if (search(values, witness) == null) {
+                valueStates[col][value] = UNREACHABLE;
+            }
+        }
+        return valueStates[col][value] == REACHABLE;
+    }
+
+    /**
+     * Checks whether a pair of values of two arguments appears in any
+     * combination passing the constraints.
+     *
+     * @param colOne
+     *            the first argument
+     * @param valueOne
+     *            the position of its value
+     * @param colTwo
+     *            the second argument
+     * @param valueTwo
+     *            the position of its value
+     * @return true, if so
+     */
+    boolean isReachable(int colOne, int valueOne, int colTwo, int valueTwo) {
+
+        if (!isReachable(colOne, valueOne) || !isReachable(colTwo, valueTwo)) {
+            return false;
+        }
+        if (group[colOne] != group[colTwo]) {
+            return true;
+        }
+
+        int[] values = new int[columns];
+        Arrays.fill(values, -1);
+        values[colOne] = valueOne;
+        values[colTwo] = valueTwo;
+        return search(values, witness) != null;
+    }
+
+    /**
+     * Look for a combination with some values, taking the arguments of other
+     * groups from a known combination.
+     */
+    private int[] search(int[] values, int[] known) {
+
+        int[] pinned = values.clone();
+        if (known != null) {
+            for (int col = 0; col < columns; col++) {
+                if (pinned[col] < 0 && !sharesGroup(col, values)) {
+                    pinned[col] = known[col];
+                }
+            }
+        }
+
+        ExhaustiveIterator iter = ExhaustiveIterator.withValues(args, pinned);
+        if (!iter.hasNext()) {
+            return null;
+        }
+
+        int[] found = iter.next().args;
+        for (int col = 0; col < columns; col++) {
+            valueStates[col][found[col]] = REACHABLE;
+        }
+        onFound.accept(found);
+        return found;
+    }
+
+    private boolean sharesGroup(int col, int[] values) {
+        for (int other = 0; other < columns; other++) {
+            if (values[other] >= 0 && group[other] == group[col]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Link the arguments of each constraint. A constraint that does not say
+     * which arguments it depends on may look at any argument up to the one it
+     * was added at.
+     */
+    private int[] linkedGroups() {
+
+        int[] parent = new int[columns];
+        for (int col = 0; col < columns; col++) {
+            parent[col] = col;
+        }
+
+        for (ProjectedConstraint constraint : args.getProjectedConstraints()) {
+            int[] cols = constraint.getColumns();
+            for (int i = 1; i < cols.length; i++) {
+                union(parent, cols[0], cols[i]);
+            }
+        }
+        for (int col = 1; col < columns; col++) {
+            if (args.getOpaqueConstraint(col) != null) {
+                for (int earlier = 0; earlier < col; earlier++) {
+                    union(parent, earlier, col);
+                }
+            }
+        }
+
+        int[] groups = new int[columns];
+        for (int col = 0; col < columns; col++) {
+            groups[col] = root(parent, col);
+        }
+        return groups;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[root(parent, a)] = root(parent, b);
+    }
+
+    private static int root(int[] parent, int col) {
+        int root = col;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        return root;
+    }
+
+}
@@ -1,9 +1,14 @@
 package com.github.radm.theories.runner;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import org.junit.contrib.theories.ParameterSignature;
@@ -15,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import com.github.radm.theories.Pairwise;
 import com.github.radm.theories.pairwise.ArgVector;
 import com.github.radm.theories.pairwise.ArgumentSet;
+import com.github.radm.theories.pairwise.PairCoverage;
 
 /**
  * Calculate the set of arguments to use for a particular method call.
@@ -31,6 +37,22 @@ public class ArgumentGenerator {
 
     private final ConstraintFinder constraints;
 
+    private ArgumentSet argumentSet;
+
+    private String valuesFingerprint;
+
+    private boolean coverageFirst;
+
+    private int shardIndex = 0;
+
+    private int shardCount = 1;
+
+    private boolean casesInOtherShards;
+
+    private long resumeOrdinal = -1;
+
+    private int[] resumeArgIndexes;
+
     /**
      * Instantiates a new argument generator.
      *
@@ -58,67 +80,330 @@ public class ArgumentGenerator {
      */
     public Collection<MethodWithArguments> computeTestMethodsWithArgs() throws Throwable {
 
-        if (testMethod.getMethod().getParameterCount() == 0) {
-            return handleZeroArgsTheory();
+        Iterator<MethodWithArguments> iter = TheorySettings.parallelGeneration() ? generateInParallel()
+                : iterateTestMethodsWithArgs();
+
+        while (iter.hasNext()) {
+            testsCalls.add(iter.next());
         }
 
+        return testsCalls;
+    }
 
-        LOG.debug("computing cases for {}", testMethod.getName());
-        List<ParameterSignature> signatures = ParameterSignature.signatures(testMethod.getMethod());
-        List<String> colNames = new ArrayList<>(
-                signatures.stream().map(ParameterSignature::getName).collect(Collectors.toList()));
+    /**
+     * Generate methods with known argument values, one at a time.
+     *
+     * @return the iterator
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    public Iterator<MethodWithArguments> iterateTestMethodsWithArgs() throws Throwable {
+
+        if (testMethod.getMethod().getParameterCount() == 0) {
+            return handleZeroArgsTheory();
+        }
 
-        List<List<Object>> allArgValues = new ArrayList<>(signatures.size());
-        for (ParameterSignature sig : signatures) {
-            List<PotentialAssignment> potentialsFor = finder.potentialsFor(sig);
-            List<Object> argVal = new ArrayList<>(potentialsFor.size());
+        ArgumentSet as = getArgumentSet();
 
-            for (PotentialAssignment pa : potentialsFor) {
-                argVal.add(pa.getValue());
+        if (!isPairWise() && !coverageFirst && shardCount > 1 && !as.isConstrained()) {
+            try {
+                return shardByIndex(as, as.size(), resumeOrdinal + 1);
+            } catch (ArithmeticException e) {
+                LOG.debug("too many cases of {} to index", testMethod.getName());
             }
-            allArgValues.add(argVal);
         }
 
-        ArgumentSet as = new ArgumentSet(colNames, allArgValues);
-        constraints.applyConstraintsTo(testMethod, as);
-
-        final Iterator<ArgVector> iter;
+        final Iterator<ArgVector> allArgs;
+        long ordinal = 0;
         if (isPairWise()) {
-            iter = as.pairwiseIterator();
+            allArgs = as.pairwiseIterator();
+        } else if (coverageFirst) {
+            allArgs = as.coverageFirstIterator();
+        } else if (resumeArgIndexes != null) {
+            allArgs = as.iteratorAfter(resumeArgIndexes);
+            ordinal = resumeOrdinal + 1;
         } else {
-            iter = as.iterator();
+            allArgs = as.iterator();
         }
 
-        while (iter.hasNext()) {
-            ArgVector argVector = iter.next();
-            Object[] rawArgs = argVector.getArgVals();
-            assert rawArgs.length == testMethod.getMethod().getParameterCount();
-            MethodWithArguments testCall = new MethodWithArguments(testMethod.getMethod(), rawArgs);
+        // other orders can only be resumed by generating the earlier cases again
+        for (; ordinal <= resumeOrdinal && allArgs.hasNext(); ordinal++) {
+            allArgs.next();
+        }
 
-            LOG.trace("Identified test case {}", testCall);
+        return inThisShard(allArgs, ordinal);
+    }
 
-            testsCalls.add(testCall);
+    /**
+     * Constrained theories in exhaustive order are generated across cores,
+     * numbering the cases once they are all known. Other theories are
+     * generated one case at a time as usual.
+     */
+    private Iterator<MethodWithArguments> generateInParallel() throws Throwable {
+
+        if (testMethod.getMethod().getParameterCount() == 0 || isPairWise() || coverageFirst
+                || resumeArgIndexes != null || !getArgumentSet().isConstrained()) {
+            return iterateTestMethodsWithArgs();
         }
 
-        return testsCalls;
+        List<ArgVector> allArgs = getArgumentSet().stream().parallel().collect(Collectors.toList());
+        LOG.debug("generated {} cases of {} in parallel", allArgs.size(), testMethod.getName());
+        return inThisShard(allArgs.iterator(), 0);
     }
 
+    /**
+     * Without constraints, the position of a combination in exhaustive order is
+     * its ordinal, so a shard can go straight to each of its own cases rather
+     * than generating those of the other shards too.
+     */
+    private Iterator<MethodWithArguments> shardByIndex(ArgumentSet as, long size, long firstOrdinal) {
+
+        long first = firstOrdinal;
+        while (first < size && !isInShard(first)) {
+            first++;
+        }
+        casesInOtherShards |= size - firstOrdinal > 1 || first > firstOrdinal;
+
+        final long start = first;
+        return new Iterator<MethodWithArguments>() {
+
+            private long index = start;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public MethodWithArguments next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MethodWithArguments ret = toTestCall(as.get(index), index);
+                index += shardCount;
+                return ret;
+            }
+        };
+    }
+
+    /**
+     * Number argument vectors by their position in generation order, and skip
+     * those that belong to other shards.
+     */
+    private Iterator<MethodWithArguments> inThisShard(Iterator<ArgVector> allArgs, long firstOrdinal) {
+
+        return new Iterator<MethodWithArguments>() {
+
+            private long ordinal = firstOrdinal;
+
+            private MethodWithArguments nextInShard;
+
+            @Override
+            public boolean hasNext() {
+                while (nextInShard == null && allArgs.hasNext()) {
+                    ArgVector candidate = allArgs.next();
+                    long candidateOrdinal = ordinal++;
+                    if (isInShard(candidateOrdinal)) {
+                        nextInShard = toTestCall(candidate, candidateOrdinal);
+                    } else {
+                        casesInOtherShards = true;
+                    }
+                }
+                return nextInShard != null;
+            }
+
+            @Override
+            public MethodWithArguments next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MethodWithArguments ret = nextInShard;
+                nextInShard = null;
+                return ret;
+            }
+        };
+    }
+
+    /**
+     * Cases are dealt out to shards in turn, starting from a shard that
+     * depends on the theory name so that small theories do not all land in
+     * the first shard.
+     */
+    private boolean isInShard(long ordinal) {
+        return Math.floorMod(ordinal + testMethod.getName().hashCode(), shardCount) == shardIndex;
+    }
+
+    private ArgumentSet getArgumentSet() throws Throwable {
+
+        if (argumentSet == null) {
+            LOG.debug("computing cases for {}", testMethod.getName());
+            List<ParameterSignature> signatures = ParameterSignature.signatures(testMethod.getMethod());
+            List<String> colNames = new ArrayList<>(
+                    signatures.stream().map(ParameterSignature::getName).collect(Collectors.toList()));
+
+            List<List<Object>> allArgValues = new ArrayList<>(signatures.size());
+            for (ParameterSignature sig : signatures) {
+                List<PotentialAssignment> potentialsFor = finder.potentialsFor(sig);
+                List<Object> argVal = new ArrayList<>(potentialsFor.size());
+
+                for (PotentialAssignment pa : potentialsFor) {
+                    argVal.add(pa.getValue());
+                }
+                allArgValues.add(argVal);
+            }
+
+            argumentSet = new ArgumentSet(colNames, allArgValues);
+            constraints.applyConstraintsTo(testMethod, argumentSet);
+        }
+
+        return argumentSet;
+    }
+
+    private MethodWithArguments toTestCall(ArgVector argVector, long ordinal) {
+        Object[] rawArgs = argVector.getArgVals();
+        assert rawArgs.length == testMethod.getMethod().getParameterCount();
+        MethodWithArguments testCall = MethodWithArguments.builder(testMethod.getMethod(), rawArgs)
+                .withArgIndexes(argVector.args).withOrdinal(ordinal)
+                .withValuesFingerprint(valuesFingerprint(argumentSet)).build();
+
+        LOG.trace("Identified test case {}", testCall);
+
+        return testCall;
+    }
 
 	/**
 	 * special-case for issue #6.
 	 *
-	 * @return the collection
+	 * @return the iterator
 	 */
-	private Collection<MethodWithArguments> handleZeroArgsTheory() {
+	private Iterator<MethodWithArguments> handleZeroArgsTheory() {
+		if (!isInShard(0)) {
+			casesInOtherShards = true;
+			return Collections.emptyIterator();
+		}
+		if (resumeOrdinal >= 0) {
+			return Collections.emptyIterator();
+		}
+
 		Object[] rawArgs = new Object[0];
-		MethodWithArguments testCall = new MethodWithArguments(testMethod.getMethod(), rawArgs);
+		MethodWithArguments testCall = MethodWithArguments.builder(testMethod.getMethod(), rawArgs).withOrdinal(0)
+				.build();
 
 		LOG.trace("Identified zero-argument test case {}", testCall);
 
-		testsCalls.add(testCall);
-		return testsCalls;
+		return Collections.singletonList(testCall).iterator();
 	}
 
+    /**
+     * Only generate the cases that belong to one shard out of several.
+     *
+     * @param newShardIndex
+     *            the zero-based index of the shard
+     * @param newShardCount
+     *            the number of shards
+     */
+    public void inShard(int newShardIndex, int newShardCount) {
+        this.shardIndex = newShardIndex;
+        this.shardCount = newShardCount;
+    }
+
+    /**
+     * Only generate the cases that come after one generated earlier, as when
+     * resuming an interrupted run.
+     *
+     * @param ordinal
+     *            the position of the earlier case in generation order
+     * @param argIndexes
+     *            the index of each argument of the earlier case among the
+     *            values for its parameter
+     */
+    public void resumeAfter(long ordinal, int[] argIndexes) {
+        this.resumeOrdinal = ordinal;
+        this.resumeArgIndexes = argIndexes;
+    }
+
+    /**
+     * Digest of everything that decides which case comes at which position in
+     * generation order: the order, the shard and the argument values.
+     *
+     * @return the digest, in hex
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    public String fingerprint() throws Throwable {
+
+        MessageDigest digest = CaseIds.sha256();
+        String order = isPairWise() ? "pairwise" : coverageFirst ? "coverage-first" : "exhaustive";
+        digest.update((order + " " + shardIndex + "/" + shardCount).getBytes(StandardCharsets.UTF_8));
+
+        if (testMethod.getMethod().getParameterCount() > 0) {
+            digest.update(valuesFingerprint(getArgumentSet()).getBytes(StandardCharsets.UTF_8));
+        }
+        return CaseIds.toHex(digest.digest());
+    }
+
+    /**
+     * Digest of the values for each parameter, in order, each by its class and
+     * string form, with the contents of arrays spelled out.
+     */
+    private String valuesFingerprint(ArgumentSet as) {
+
+        if (valuesFingerprint == null) {
+            MessageDigest digest = CaseIds.sha256();
+            for (List<Object> values : as.getArgValues()) {
+                digest.update((byte) 0);
+                for (Object value : values) {
+                    String form = value == null ? "null"
+                            : value.getClass().getName() + " " + Arrays.deepToString(new Object[] { value });
+                    digest.update((form + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            valuesFingerprint = CaseIds.toHex(digest.digest());
+        }
+        return valuesFingerprint;
+    }
+
+    /**
+     * Checks whether any cases generated so far were skipped as belonging to
+     * other shards.
+     *
+     * @return true, if so
+     */
+    public boolean hasCasesInOtherShards() {
+        return casesInOtherShards;
+    }
+
+    /**
+     * Generate cases that cover pairs of argument values as early as possible,
+     * rather than in exhaustive order. Pairwise theories are unaffected.
+     */
+    public void orderForCoverage() {
+        coverageFirst = true;
+    }
+
+    /**
+     * Create an empty record of the pairs of argument values covered by cases.
+     *
+     * @return the pair coverage, or null if the theory has no arguments
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    public PairCoverage newPairCoverage() throws Throwable {
+        if (testMethod.getMethod().getParameterCount() == 0) {
+            return null;
+        }
+        return new PairCoverage(getArgumentSet());
+    }
+
+    /**
+     * Gets the test method.
+     *
+     * @return the test method
+     */
+    public FrameworkMethod getTestMethod() {
+        return testMethod;
+    }
+
     private boolean isPairWise() {
         return testMethod.getMethod().isAnnotationPresent(Pairwise.class)
                 || testMethod.getDeclaringClass().isAnnotationPresent(Pairwise.class);
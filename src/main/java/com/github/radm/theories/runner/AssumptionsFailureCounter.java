@@ -2,23 +2,15 @@ package com.github.radm.theories.runner;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
-import org.junit.runner.notification.Failure;
-import org.junit.runner.notification.RunListener;
-
 /**
- * Counter of assumption failures.
+ * Counter of assumption failures. Safe to use from concurrently running cases.
  *
  */
-public class AssumptionsFailureCounter extends RunListener {
+public class AssumptionsFailureCounter {
 
     private AtomicInteger assumptionsFailed = new AtomicInteger();
     private final int assumptionLimit;
 
-    @Override
-    public void testAssumptionFailure(Failure failure) {
-        assumptionsFailed.incrementAndGet();
-    }
-
     /**
      * Instantiates a new assumptions failure counter.
      *
@@ -38,4 +30,25 @@ public class AssumptionsFailureCounter extends RunListener {
         return assumptionsFailed.get() < assumptionLimit;
     }
 
+    /**
+     * Record assumption failures.
+     *
+     * @param count
+     *            the number of failures
+     * @return true, if the limit has just been reached
+     */
+    public boolean recordAssumptionFailures(int count) {
+        int before = assumptionsFailed.getAndAdd(count);
+        return before < assumptionLimit && before + count >= assumptionLimit;
+    }
+
+    /**
+     * Gets the number of failed assumptions so far.
+     *
+     * @return the number of failed assumptions
+     */
+    public int getAssumptionsFailed() {
+        return assumptionsFailed.get();
+    }
+
 }
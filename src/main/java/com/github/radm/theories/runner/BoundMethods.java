@@ -0,0 +1,129 @@
+package com.github.radm.theories.runner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bind theory methods and test class constructors to method handles, so that
+ * running a case skips the access checks and argument copying of reflection.
+ * A method that cannot be bound, such as one on a class that is not public,
+ * has no handle and is left to reflection.
+ *
+ * Nothing is cached here: callers keep the handles for as long as the runner
+ * that uses them, so test classes and their class loaders are not held on to.
+ */
+public final class BoundMethods {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoundMethods.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class,
+            Object[].class);
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private BoundMethods() {
+    }
+
+    /**
+     * Get a handle that calls a method on a target with an array of
+     * arguments, of type {@code (Object, Object[])Object}. The target is
+     * ignored for static methods, and void methods return null.
+     *
+     * @param method
+     *            the method
+     * @return the handle, or null if the method must be called by reflection
+     */
+    public static MethodHandle invoker(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method).asFixedArity()
+                    .asSpreader(Object[].class, method.getParameterCount());
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            LOG.debug("calling {} by reflection", method, e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the class each argument of a method must have for a handle from
+     * {@link #invoker(Method)} to be used: its parameter's type, or the wrapper
+     * of a primitive type.
+     *
+     * @param parameterTypes
+     *            the types of the method's parameters
+     * @return the argument types
+     */
+    public static Class<?>[] argumentTypes(Class<?>[] parameterTypes) {
+        Class<?>[] argumentTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+        return argumentTypes;
+    }
+
+    /**
+     * Checks whether a handle from {@link #invoker(Method)} calls a method
+     * with some arguments just as reflection would: each argument is an
+     * instance of its parameter's type, or of the wrapper of a primitive
+     * type, and only arguments for references are null. Otherwise the handle
+     * would throw a different exception than reflection, or convert an
+     * argument where reflection would not, so the method should be called by
+     * reflection.
+     *
+     * @param parameterTypes
+     *            the types of the method's parameters
+     * @param argumentTypes
+     *            the same, as from {@link #argumentTypes(Class[])}
+     * @param args
+     *            the arguments
+     * @return true, if the handle can be used
+     */
+    public static boolean accepts(Class<?>[] parameterTypes, Class<?>[] argumentTypes, Object[] args) {
+        if (args.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                if (args[i] == null || argumentTypes[i] != args[i].getClass()) {
+                    return false;
+                }
+            } else if (args[i] != null && !parameterTypes[i].isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a handle that calls a constructor without arguments, of type
+     * {@code ()Object}.
+     *
+     * @param constructor
+     *            the constructor
+     * @return the handle, or null if the constructor has arguments or must be
+     *         called by reflection
+     */
+    public static MethodHandle constructor(Constructor<?> constructor) {
+        if (constructor.getParameterCount() > 0) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.publicLookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException e) {
+            LOG.debug("calling {} by reflection", constructor, e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.github.radm.theories.runner;
+
+import java.util.Iterator;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * A group of cases of the same theory, reported as a single test.
+ */
+public class CaseChunk extends FrameworkMethod {
+
+    private final Iterable<MethodWithArguments> cases;
+
+    private final String name;
+
+    /**
+     * Instantiates a new chunk covering a numbered range of cases.
+     *
+     * @param theory
+     *            the theory
+     * @param cases
+     *            the cases
+     * @param first
+     *            the one-based number of the first case
+     * @param last
+     *            the one-based number of the last case
+     */
+    public CaseChunk(FrameworkMethod theory, Iterable<MethodWithArguments> cases, int first, int last) {
+        this(theory, cases, theory.getName() + "[cases " + first + "-" + last + "]");
+    }
+
+    /**
+     * Instantiates a new chunk covering all cases of the theory.
+     *
+     * @param theory
+     *            the theory
+     * @param cases
+     *            the cases
+     */
+    public CaseChunk(FrameworkMethod theory, Iterable<MethodWithArguments> cases) {
+        this(theory, cases, theory.getName() + "[all cases]");
+    }
+
+    private CaseChunk(FrameworkMethod theory, Iterable<MethodWithArguments> cases, String name) {
+        super(theory.getMethod());
+        this.cases = cases;
+        this.name = name;
+    }
+
+    /**
+     * Iterate over the cases.
+     *
+     * @return the iterator
+     */
+    public Iterator<MethodWithArguments> cases() {
+        return cases.iterator();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
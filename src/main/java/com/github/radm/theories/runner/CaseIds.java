@@ -0,0 +1,102 @@
+package com.github.radm.theories.runner;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stable identities for cases, for state kept between runs. A case is
+ * identified by its theory and, where known, the index of each argument among
+ * the values for its parameter together with a digest of those values, so
+ * that arguments whose string forms are alike are still told apart. Other
+ * cases fall back to the string form of their arguments.
+ */
+public final class CaseIds {
+
+    private CaseIds() {
+    }
+
+    /**
+     * Gets the identity of a case, worked out on first use and then kept with
+     * the case.
+     *
+     * @param mwa
+     *            the case
+     * @return the identity, starting with the theory name and a slash
+     */
+    public static String idOf(MethodWithArguments mwa) {
+        return mwa.getCaseId();
+    }
+
+    /** Work out the identity of a case. */
+    static String computeIdOf(MethodWithArguments mwa) {
+        MessageDigest digest = sha256();
+        digest.update(mwa.getMethod().toGenericString().getBytes(StandardCharsets.UTF_8));
+        if (isIndexed(mwa)) {
+            digest.update(("#" + mwa.getValuesFingerprint() + Arrays.toString(mwa.getArgIndexes()))
+                    .getBytes(StandardCharsets.UTF_8));
+        } else {
+            digest.update(mwa.getName().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return mwa.getMethod().getName() + "/" + toHex(digest.digest());
+    }
+
+    /**
+     * Compute the identity of one argument value of a case, shared by every
+     * case of the theory with that value for the parameter.
+     *
+     * @param mwa
+     *            the case
+     * @param param
+     *            the index of the parameter
+     * @return the identity, starting with the theory name, a slash, the index
+     *         of the parameter and another slash
+     */
+    public static String valueIdOf(MethodWithArguments mwa, int param) {
+        String prefix = mwa.getMethod().getName() + "/" + param + "/";
+        if (!isIndexed(mwa)) {
+            return prefix + Objects.toString(mwa.getArguments()[param]);
+        }
+
+        MessageDigest digest = sha256();
+        digest.update(mwa.getMethod().toGenericString().getBytes(StandardCharsets.UTF_8));
+        digest.update(("#" + mwa.getValuesFingerprint() + "[" + mwa.getArgIndexes()[param] + "]")
+                .getBytes(StandardCharsets.UTF_8));
+        return prefix + toHex(digest.digest());
+    }
+
+    private static boolean isIndexed(MethodWithArguments mwa) {
+        return mwa.getArgIndexes() != null && mwa.getValuesFingerprint() != null;
+    }
+
+    /**
+     * Gets the theory name from the identity of a case.
+     *
+     * @param id
+     *            the identity
+     * @return the theory name
+     */
+    public static String theoryOf(String id) {
+        return id.substring(0, id.lastIndexOf('/'));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
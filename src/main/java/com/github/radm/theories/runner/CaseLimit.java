@@ -0,0 +1,143 @@
+package com.github.radm.theories.runner;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.radm.theories.pairwise.PairCoverage;
+
+/**
+ * Limits on how far a theory runs before the rest of its cases are skipped:
+ * a number of failing cases, a time budget, or both. Safe to use from
+ * concurrently running cases.
+ */
+public class CaseLimit {
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger casesRun = new AtomicInteger();
+    private final AtomicBoolean skipReported = new AtomicBoolean();
+
+    private int maxFailures;
+
+    private String budget;
+    private long budgetNanos;
+    private PairCoverage coverage;
+
+    private volatile boolean started;
+    private volatile long deadline;
+
+    /**
+     * Skip the remaining cases after a number of failures.
+     *
+     * @param newMaxFailures
+     *            the number of failures, or 0 for no limit
+     * @return the case limit
+     */
+    public CaseLimit withMaxFailures(int newMaxFailures) {
+        this.maxFailures = newMaxFailures;
+        return this;
+    }
+
+    /**
+     * Skip the remaining cases once a time budget is spent, counted from the
+     * first case.
+     *
+     * @param newBudget
+     *            the budget, as written by the user
+     * @param budgetMillis
+     *            the budget in milliseconds
+     * @param newCoverage
+     *            record of the pairs covered by cases run, or null
+     * @return the case limit
+     */
+    public CaseLimit withTimeBudget(String newBudget, long budgetMillis, PairCoverage newCoverage) {
+        this.budget = newBudget;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.coverage = newCoverage;
+        return this;
+    }
+
+    /**
+     * Record a case about to run.
+     *
+     * @param mwa
+     *            the case
+     */
+    public void recordCase(MethodWithArguments mwa) {
+        casesRun.incrementAndGet();
+
+        if (budget != null) {
+            startClock();
+            if (coverage != null && mwa.getArgIndexes() != null) {
+                coverage.record(mwa.getArgIndexes());
+            }
+        }
+    }
+
+    private synchronized void startClock() {
+        if (!started) {
+            deadline = System.nanoTime() + budgetNanos;
+            started = true;
+        }
+    }
+
+    /**
+     * Record a failing case.
+     */
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * Checks whether the remaining cases should be skipped.
+     *
+     * @return true, if so
+     */
+    public boolean isReached() {
+        return tooManyFailures() || isOutOfTime();
+    }
+
+    private boolean tooManyFailures() {
+        return maxFailures > 0 && failures.get() >= maxFailures;
+    }
+
+    /**
+     * Checks whether the time budget has been spent.
+     *
+     * @return true, if so
+     */
+    public boolean isOutOfTime() {
+        return started && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Claim the single report that the remaining cases were skipped.
+     *
+     * @return true the first time only
+     */
+    public boolean claimSkipReport() {
+        return !skipReported.getAndSet(true);
+    }
+
+    /**
+     * Describe why the remaining cases were skipped.
+     *
+     * @return the description
+     */
+    public String describeStop() {
+
+        if (tooManyFailures()) {
+            return "after " + maxFailures + " failures";
+        }
+
+        StringBuilder sb = new StringBuilder("after time budget of ").append(budget).append(", ")
+                .append(casesRun.get()).append(" cases run");
+        if (coverage != null && coverage.getPairCount() > 0) {
+            sb.append(String.format(Locale.ROOT, ", %.1f%% of value pairs covered",
+                    100.0 * coverage.getPairsCovered() / coverage.getPairCount()));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.radm.theories.runner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Create the threads used to run one case per thread. This version uses
+ * platform threads; on Java 21 and later it is replaced by a version that uses
+ * virtual threads.
+ */
+final class CaseThreads {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private CaseThreads() {
+    }
+
+    /**
+     * Create an executor that starts up to the specified number of threads.
+     *
+     * @param maxConcurrency
+     *            the maximum number of cases running at once
+     * @return the executor
+     */
+    static ExecutorService newExecutor(int maxConcurrency) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "theory-case-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Whether threads are virtual.
+     *
+     * @return true, if so
+     */
+    static boolean isVirtual() {
+        return false;
+    }
+}
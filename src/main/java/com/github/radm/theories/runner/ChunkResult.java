@@ -0,0 +1,147 @@
+package com.github.radm.theories.runner;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.Statement;
+
+/**
+ * Combined outcome of running a chunk of cases. Safe to use from concurrently
+ * running cases.
+ */
+public class ChunkResult {
+
+    /** Maximum number of failing cases listed in the failure message. */
+    private static final int MAX_LISTED = 1000;
+
+    /** Maximum number of failures attached as suppressed exceptions. */
+    private static final int MAX_SUPPRESSED = 10;
+
+    /** Outcome of a single case. */
+    public enum Outcome {
+        /** The case passed. */
+        PASSED,
+        /** The case failed an assumption. */
+        ASSUMPTION_FAILED,
+        /** The case failed. */
+        FAILED
+    }
+
+    private final AtomicInteger casesRun = new AtomicInteger();
+    private final AtomicInteger assumptionsFailed = new AtomicInteger();
+    private final AtomicInteger casesFailed = new AtomicInteger();
+    private final AtomicInteger casesCached = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Map.Entry<String, Throwable>> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Run a single case, recording the outcome.
+     *
+     * @param mwa
+     *            the case
+     * @param statement
+     *            the statement that runs the case
+     * @return the outcome of the case
+     */
+    public Outcome run(MethodWithArguments mwa, Statement statement) {
+        casesRun.incrementAndGet();
+        try {
+            statement.evaluate();
+        } catch (AssumptionViolatedException e) {
+            assumptionsFailed.incrementAndGet();
+            return Outcome.ASSUMPTION_FAILED;
+        } catch (Throwable e) {
+            if (casesFailed.incrementAndGet() <= MAX_LISTED) {
+                failures.add(new AbstractMap.SimpleImmutableEntry<>(mwa.getName(), e));
+            }
+            return Outcome.FAILED;
+        }
+        return Outcome.PASSED;
+    }
+
+    /**
+     * Record a case not run because it passed on an earlier run with the same
+     * arguments and code.
+     */
+    public void recordCached() {
+        casesCached.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of cases run.
+     *
+     * @return the number of cases run
+     */
+    public int getCasesRun() {
+        return casesRun.get();
+    }
+
+    /**
+     * Gets the number of cases that failed assumptions.
+     *
+     * @return the number of failed assumptions
+     */
+    public int getAssumptionsFailed() {
+        return assumptionsFailed.get();
+    }
+
+    /**
+     * Gets the number of cases not run because they passed on an earlier run.
+     *
+     * @return the number of cached cases
+     */
+    public int getCasesCached() {
+        return casesCached.get();
+    }
+
+    /**
+     * Checks whether every case run failed its assumptions, with none cached
+     * as passed before.
+     *
+     * @return true, if so
+     */
+    public boolean allAssumptionsFailed() {
+        return casesRun.get() > 0 && casesCached.get() == 0 && assumptionsFailed.get() == casesRun.get();
+    }
+
+    /**
+     * Checks whether every case was cached, so none ran.
+     *
+     * @return true, if so
+     */
+    public boolean allCached() {
+        return casesRun.get() == 0 && casesCached.get() > 0;
+    }
+
+    /**
+     * Build a single failure summarising all failing cases.
+     *
+     * @return the failure, or null if no case failed
+     */
+    public Throwable getFailure() {
+
+        if (failures.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(casesFailed.get()).append(" of ").append(casesRun.get()).append(" cases failed");
+        if (casesCached.get() > 0) {
+            message.append(", ").append(casesCached.get()).append(" more cached as passed before");
+        }
+        message.append(':');
+        for (Map.Entry<String, Throwable> failure : failures) {
+            message.append("\n  ").append(failure.getKey()).append(": ").append(failure.getValue());
+        }
+        if (casesFailed.get() > failures.size()) {
+            message.append("\n  ... and ").append(casesFailed.get() - failures.size()).append(" more");
+        }
+
+        AssertionError ret = new AssertionError(message.toString(), failures.peek().getValue());
+        failures.stream().skip(1).limit(MAX_SUPPRESSED).forEach(f -> ret.addSuppressed(f.getValue()));
+
+        return ret;
+    }
+}
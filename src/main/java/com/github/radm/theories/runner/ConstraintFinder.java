@@ -1,5 +1,8 @@
 package com.github.radm.theories.runner;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -7,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.junit.contrib.theories.Theory;
 import org.junit.runners.model.FrameworkMethod;
@@ -27,6 +31,7 @@ public class ConstraintFinder {
 
     private final List<MethodSignature> globalConstraints = new ArrayList<>();
     private final Map<String, List<MethodSignature>> namedConstraints = new HashMap<>();
+    private final Map<Method, Predicate<Object[]>> boundConstraints = new HashMap<>();
 
     /**
      * Instantiates a new constraint finder.
@@ -157,21 +162,57 @@ public class ConstraintFinder {
 
     private void applyTo(MethodSignature constraint, MethodSignature testSignature, ArgumentSet as) {
 
+        Predicate<Object[]> check = boundConstraints.computeIfAbsent(constraint.getFrameworkMethod().getMethod(),
+                m -> bind(constraint.getFrameworkMethod()));
+
+        int maxTabulated = TheorySettings.tabulateConstraints();
         for (MethodSignature.Shim argMapping : constraint.buildShims(testSignature)) {
 
             String argName = as.getArgNames().get(argMapping.lastMappedArgIndex());
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Add constraint {} @ {}", constraint.getFrameworkMethod(), argName);
             }
-            as.withConstraint(argName, args -> checkConstraintOn(constraint.getFrameworkMethod(), argMapping, args));
+            as.withTabulatedConstraint(argName, argMapping.argMapping, check, maxTabulated);
         }
 
     }
 
-    private boolean checkConstraintOn(FrameworkMethod fcm, MethodSignature.Shim argMapping, Object[] args) {
+    /**
+     * Bind a constraint method to a method handle taking its arguments as an
+     * array, so it is looked up and access checked once rather than on every
+     * call. Falls back to reflection if the method cannot be bound, such as
+     * when its class is not public.
+     *
+     * @param fcm
+     *            the constraint method
+     * @return the constraint, false if it throws
+     */
+    private static Predicate<Object[]> bind(FrameworkMethod fcm) {
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(fcm.getMethod())
+                    .asSpreader(Object[].class, fcm.getMethod().getParameterCount())
+                    .asType(MethodType.methodType(boolean.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            LOG.debug("Checking constraint {} by reflection", fcm, e);
+            return args -> checkConstraintOn(fcm, args);
+        }
+
+        return args -> {
+            try {
+                return (boolean) handle.invokeExact(args);
+            } catch (Throwable e) {
+                LOG.debug("Exception while checking constraint:", e);
+                return false;
+            }
+        };
+    }
+
+    private static boolean checkConstraintOn(FrameworkMethod fcm, Object[] args) {
 
         try {
-            return (boolean) fcm.invokeExplosively(null, argMapping.apply(args));
+            return (boolean) fcm.invokeExplosively(null, args);
         } catch (Throwable e) {
             LOG.debug("Exception while checking constraint:", e);
             return false;
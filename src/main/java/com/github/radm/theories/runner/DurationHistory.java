@@ -0,0 +1,323 @@
+package com.github.radm.theories.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk record of how long the cases of a test class took, used to start
+ * the longest cases of a parallel batch first. Safe to use from concurrently
+ * running cases.
+ *
+ * Times are kept per case, and as a mean per argument value so that cases not
+ * seen before can be estimated from the values they share with those that
+ * were; each mean is kept with the number of times it is taken over, so that
+ * later runs add to it. Earlier times of cases that did not run are kept, as
+ * long as the cases are still generated: once every case of a theory has been
+ * generated, entries for cases and values no longer among them are dropped, so
+ * they do not build up.
+ */
+public class DurationHistory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DurationHistory.class);
+
+    private static final String CASE_PREFIX = "case:";
+
+    private static final String VALUE_PREFIX = "value:";
+
+    private static final String COUNT_PREFIX = "count:";
+
+    private final Path file;
+
+    private final Map<String, Long> previous = new HashMap<>();
+
+    private final Map<String, Long> caseMicros = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder[]> valueTotals = new ConcurrentHashMap<>();
+
+    /** Theories with earlier entries. */
+    private final Set<String> theoriesKnown = new HashSet<>();
+
+    /** Earlier case and value entries generated again this run. */
+    private final Set<String> generated = ConcurrentHashMap.newKeySet();
+
+    /** Theories all of whose cases were generated this run. */
+    private final Set<String> theoriesGenerated = ConcurrentHashMap.newKeySet();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the history for a test class.
+     *
+     * @param stateDir
+     *            the directory where state is kept
+     * @param testClass
+     *            the test class
+     * @return the history
+     * @throws IOException
+     *             if the history could not be read
+     */
+    public static DurationHistory open(Path stateDir, Class<?> testClass) throws IOException {
+
+        DurationHistory history = new DurationHistory(
+                stateDir.resolve("durations").resolve(testClass.getName() + ".properties"));
+
+        if (Files.exists(history.file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(history.file)) {
+                properties.load(in);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                try {
+                    history.previous.put(key, Long.parseLong(properties.getProperty(key)));
+                    history.theoriesKnown.add(theoryOf(key));
+                } catch (NumberFormatException e) {
+                    LOG.debug("ignoring malformed duration {}", key);
+                }
+            }
+            LOG.debug("loaded {} durations from {}", history.previous.size(), history.file);
+        }
+
+        return history;
+    }
+
+    /**
+     * Estimate how long a case will take: its own time last run if known,
+     * otherwise the longest mean time of any of its argument values.
+     *
+     * @param mwa
+     *            the case
+     * @return the estimate in microseconds, or 0 if nothing is known
+     */
+    public long estimateMicros(MethodWithArguments mwa) {
+
+        Long known = previous.get(CASE_PREFIX + CaseIds.idOf(mwa));
+        if (known != null) {
+            return known;
+        }
+
+        long estimate = 0;
+        for (int i = 0; i < mwa.getMethod().getParameterCount(); i++) {
+            estimate = Math.max(estimate, previous.getOrDefault(valueKey(mwa, i), 0L));
+        }
+        return estimate;
+    }
+
+    /**
+     * Checks whether there are earlier times for any case of a theory.
+     *
+     * @param theory
+     *            the theory
+     * @return true, if so
+     */
+    public boolean hasTimesOf(Method theory) {
+        return theoriesKnown.contains(theory.getName());
+    }
+
+    /**
+     * Record that a case was generated this run, so that its earlier time, and
+     * those of its values, are kept even if it does not run.
+     *
+     * @param mwa
+     *            the case
+     */
+    public void recordGenerated(MethodWithArguments mwa) {
+        if (!theoriesKnown.contains(mwa.getMethod().getName())) {
+            return;
+        }
+
+        String caseKey = CASE_PREFIX + CaseIds.idOf(mwa);
+        if (previous.containsKey(caseKey)) {
+            generated.add(caseKey);
+        }
+        for (int i = 0; i < mwa.getMethod().getParameterCount(); i++) {
+            String key = valueKey(mwa, i);
+            if (previous.containsKey(key)) {
+                generated.add(key);
+            }
+        }
+    }
+
+    /**
+     * Record that every case of a theory was generated this run, so that
+     * earlier times not among them are dropped. Only valid once each case has
+     * been recorded with {@link #recordGenerated(MethodWithArguments)}.
+     *
+     * @param theory
+     *            the theory
+     */
+    public void recordAllGenerated(Method theory) {
+        theoriesGenerated.add(theory.getName());
+    }
+
+    /**
+     * Record cases as generated as they go by.
+     *
+     * @param theory
+     *            the theory
+     * @param cases
+     *            the cases of the theory
+     * @param allCases
+     *            whether these are all the cases of the theory, so that once
+     *            they run out, earlier times not among them are dropped
+     * @return the same cases
+     */
+    public Iterator<MethodWithArguments> generatedAmong(Method theory, Iterator<MethodWithArguments> cases,
+            boolean allCases) {
+
+        return new Iterator<MethodWithArguments>() {
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = cases.hasNext();
+                if (!hasNext && allCases) {
+                    recordAllGenerated(theory);
+                }
+                return hasNext;
+            }
+
+            @Override
+            public MethodWithArguments next() {
+                MethodWithArguments mwa = cases.next();
+                recordGenerated(mwa);
+                return mwa;
+            }
+        };
+    }
+
+    /**
+     * Order cases longest first, keeping the existing order between cases
+     * with the same estimate.
+     *
+     * @param cases
+     *            the cases
+     * @return the reordered cases
+     */
+    public List<MethodWithArguments> longestFirst(List<MethodWithArguments> cases) {
+
+        Map<MethodWithArguments, Long> estimates = new HashMap<>();
+        for (MethodWithArguments mwa : cases) {
+            estimates.put(mwa, estimateMicros(mwa));
+        }
+
+        List<MethodWithArguments> ordered = new ArrayList<>(cases);
+        ordered.sort(Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+        return ordered;
+    }
+
+    /**
+     * Record how long a case took.
+     *
+     * @param mwa
+     *            the case
+     * @param nanos
+     *            the time taken
+     */
+    public void record(MethodWithArguments mwa, long nanos) {
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        caseMicros.put(CASE_PREFIX + CaseIds.idOf(mwa), micros);
+
+        for (int i = 0; i < mwa.getMethod().getParameterCount(); i++) {
+            LongAdder[] totals = valueTotals.computeIfAbsent(valueKey(mwa, i),
+                    k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+            totals[0].add(micros);
+            totals[1].increment();
+        }
+    }
+
+    /**
+     * Write the history back: times from this run, earlier times of cases
+     * that did not run but may still be generated, and value means taken over
+     * both.
+     *
+     * @throws IOException
+     *             if the history could not be written
+     */
+    public void save() throws IOException {
+
+        Properties properties = new Properties();
+        previous.forEach((k, v) -> {
+            if (!k.startsWith(COUNT_PREFIX) && isStillGenerated(k)) {
+                properties.setProperty(k, v.toString());
+                if (k.startsWith(VALUE_PREFIX)) {
+                    properties.setProperty(countKey(k), Long.toString(previousCount(k)));
+                }
+            }
+        });
+        caseMicros.forEach((k, v) -> properties.setProperty(k, v.toString()));
+        valueTotals.forEach((k, totals) -> {
+            long total = totals[0].sum();
+            long count = totals[1].sum();
+            Long mean = previous.get(k);
+            if (mean != null && isStillGenerated(k)) {
+                long earlierCount = previousCount(k);
+                total += mean * earlierCount;
+                count += earlierCount;
+            }
+            properties.setProperty(k, Long.toString(total / Math.max(1, count)));
+            properties.setProperty(countKey(k), Long.toString(count));
+        });
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "theory case durations in microseconds");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        LOG.debug("saved {} durations to {}", properties.size(), file);
+    }
+
+    /**
+     * Checks whether an earlier case or value entry may still be generated:
+     * it was this run, or not every case of its theory was.
+     */
+    private boolean isStillGenerated(String key) {
+        return generated.contains(key) || !theoriesGenerated.contains(theoryOf(key));
+    }
+
+    /** The number of times an earlier value mean was taken over. */
+    private long previousCount(String valueKey) {
+        return Math.max(1, previous.getOrDefault(countKey(valueKey), 1L));
+    }
+
+    private static String countKey(String valueKey) {
+        return COUNT_PREFIX + valueKey.substring(VALUE_PREFIX.length());
+    }
+
+    /** The theory of a case or value key. */
+    private static String theoryOf(String key) {
+        if (key.startsWith(CASE_PREFIX)) {
+            return CaseIds.theoryOf(key.substring(CASE_PREFIX.length()));
+        }
+        int start = key.indexOf(':') + 1;
+        int end = key.indexOf('/', start);
+        return end < 0 ? key : key.substring(start, end);
+    }
+
+    private static String valueKey(MethodWithArguments mwa, int argIndex) {
+        return VALUE_PREFIX + CaseIds.valueIdOf(mwa, argIndex);
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.github.radm.theories.runner;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk record of the cases of a test class that failed on the last run
+ * that ran them. A case leaves the record once it runs without failing, or
+ * once all the cases of its theory are generated without it. Safe to use from
+ * concurrently running cases.
+ */
+public class FailureHistory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FailureHistory.class);
+
+    private final Path file;
+
+    private final Set<String> previous = new HashSet<>();
+
+    private final Set<String> theoriesWithFailures = new HashSet<>();
+
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> notFailed = ConcurrentHashMap.newKeySet();
+
+    /** Earlier failures generated again this run. */
+    private final Set<String> generated = ConcurrentHashMap.newKeySet();
+
+    /** Theories all of whose cases were generated this run. */
+    private final Set<String> theoriesGenerated = ConcurrentHashMap.newKeySet();
+
+    private FailureHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the history for a test class.
+     *
+     * @param stateDir
+     *            the directory where state is kept
+     * @param testClass
+     *            the test class
+     * @return the history
+     * @throws IOException
+     *             if the history could not be read
+     */
+    public static FailureHistory open(Path stateDir, Class<?> testClass) throws IOException {
+
+        FailureHistory history = new FailureHistory(
+                stateDir.resolve("failures").resolve(testClass.getName() + ".txt"));
+
+        if (Files.exists(history.file)) {
+            for (String id : Files.readAllLines(history.file, StandardCharsets.UTF_8)) {
+                if (!id.isEmpty()) {
+                    history.previous.add(id);
+                    history.theoriesWithFailures.add(CaseIds.theoryOf(id));
+                }
+            }
+            LOG.debug("loaded {} failures from {}", history.previous.size(), history.file);
+        }
+
+        return history;
+    }
+
+    /**
+     * Checks whether any case of a theory failed last time.
+     *
+     * @param theory
+     *            the theory
+     * @return true, if so
+     */
+    public boolean hasFailuresOf(Method theory) {
+        return theoriesWithFailures.contains(theory.getName());
+    }
+
+    /**
+     * Checks whether a case, generated this run, failed last time.
+     *
+     * @param mwa
+     *            the case
+     * @return true, if so
+     */
+    public boolean failedBefore(MethodWithArguments mwa) {
+        String id = CaseIds.idOf(mwa);
+        if (previous.contains(id)) {
+            generated.add(id);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record that every case of a theory was generated this run, so that
+     * earlier failures not among them are no longer produced. Only valid once
+     * each case has been checked with {@link #failedBefore(MethodWithArguments)}.
+     *
+     * @param theory
+     *            the theory
+     */
+    public void recordAllGenerated(Method theory) {
+        theoriesGenerated.add(theory.getName());
+    }
+
+    /**
+     * Pick out the cases that failed last time, as they are generated.
+     *
+     * @param theory
+     *            the theory
+     * @param cases
+     *            the cases of the theory
+     * @param allCases
+     *            whether these are all the cases of the theory, so that once
+     *            they run out, earlier failures not among them are no longer
+     *            produced
+     * @return the cases that failed last time
+     */
+    public Iterator<MethodWithArguments> failuresAmong(Method theory, Iterator<MethodWithArguments> cases,
+            boolean allCases) {
+
+        return new Iterator<MethodWithArguments>() {
+
+            private MethodWithArguments next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && cases.hasNext()) {
+                    MethodWithArguments mwa = cases.next();
+                    if (failedBefore(mwa)) {
+                        next = mwa;
+                    }
+                }
+                if (next == null && allCases) {
+                    recordAllGenerated(theory);
+                }
+                return next != null;
+            }
+
+            @Override
+            public MethodWithArguments next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MethodWithArguments ret = next;
+                next = null;
+                return ret;
+            }
+        };
+    }
+
+    /**
+     * Put the cases that failed last time first, otherwise keeping their
+     * order.
+     *
+     * @param cases
+     *            the cases
+     * @return the reordered cases
+     */
+    public List<MethodWithArguments> failuresFirst(Collection<MethodWithArguments> cases) {
+
+        List<MethodWithArguments> ordered = new ArrayList<>(cases.size());
+        List<MethodWithArguments> rest = new ArrayList<>(cases.size());
+        for (MethodWithArguments mwa : cases) {
+            if (failedBefore(mwa)) {
+                ordered.add(mwa);
+            } else {
+                rest.add(mwa);
+            }
+        }
+        LOG.debug("{} cases failed last time", ordered.size());
+
+        ordered.addAll(rest);
+        return ordered;
+    }
+
+    /**
+     * Record a failing case.
+     *
+     * @param mwa
+     *            the case
+     */
+    public void recordFailure(MethodWithArguments mwa) {
+        failed.add(CaseIds.idOf(mwa));
+    }
+
+    /**
+     * Record a case that ran without failing: it passed, or failed an
+     * assumption. Only cases that failed before need remembering, to clear
+     * them from the history.
+     *
+     * @param mwa
+     *            the case
+     */
+    public void recordNoFailure(MethodWithArguments mwa) {
+        String id = CaseIds.idOf(mwa);
+        if (previous.contains(id)) {
+            notFailed.add(id);
+        }
+    }
+
+    /**
+     * Write the history back: failures from this run, and failures from
+     * earlier runs of cases that did not run this time but may still be
+     * generated.
+     *
+     * @throws IOException
+     *             if the history could not be written
+     */
+    public void save() throws IOException {
+
+        Set<String> failures = new TreeSet<>();
+        for (String id : previous) {
+            if (!notFailed.contains(id)
+                    && (generated.contains(id) || !theoriesGenerated.contains(CaseIds.theoryOf(id)))) {
+                failures.add(id);
+            }
+        }
+        failures.addAll(failed);
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(temp, failures, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        LOG.debug("saved {} failures to {}", failures.size(), file);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.github.radm.theories.runner;
+
+import java.util.Iterator;
+
+/**
+ * Cases of a streamed theory, generated as they are iterated. Anything thrown
+ * while generating a case is wrapped in a {@link GenerationFailure}, so that
+ * it can be told apart from what escapes running a case, such as a request
+ * to stop the run.
+ */
+public class GeneratedCases implements Iterator<MethodWithArguments> {
+
+    /** Thrown when generating a case fails; the cause is the failure. */
+    public static class GenerationFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        GenerationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private final Iterator<MethodWithArguments> cases;
+
+    /**
+     * Instantiates a new view of generated cases.
+     *
+     * @param cases
+     *            the cases as generated
+     */
+    public GeneratedCases(Iterator<MethodWithArguments> cases) {
+        this.cases = cases;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return cases.hasNext();
+        } catch (RuntimeException | Error e) {
+            throw new GenerationFailure(e);
+        }
+    }
+
+    @Override
+    public MethodWithArguments next() {
+        try {
+            return cases.next();
+        } catch (RuntimeException | Error e) {
+            throw new GenerationFailure(e);
+        }
+    }
+}
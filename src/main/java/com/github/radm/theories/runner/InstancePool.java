@@ -0,0 +1,71 @@
+package com.github.radm.theories.runner;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Test class instances that are free to be reused by the next case of a
+ * theory. Safe to use from concurrently running cases.
+ */
+public class InstancePool {
+
+    private final ConcurrentLinkedQueue<Object> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Start a loan of an instance for a single case.
+     *
+     * @return the loan
+     */
+    public Loan newLoan() {
+        return new Loan();
+    }
+
+    /**
+     * Drop all idle instances.
+     */
+    public void clear() {
+        idle.clear();
+    }
+
+    /**
+     * An instance on loan to a single case.
+     */
+    public class Loan implements AutoCloseable {
+
+        private Object instance;
+
+        private Loan() {
+        }
+
+        /**
+         * Take an idle instance.
+         *
+         * @return the instance, or null if there are none
+         */
+        public Object borrow() {
+            instance = idle.poll();
+            return instance;
+        }
+
+        /**
+         * Hold a newly created instance, to be returned to the pool with the
+         * loan.
+         *
+         * @param newInstance
+         *            the instance
+         */
+        public void hold(Object newInstance) {
+            instance = newInstance;
+        }
+
+        /**
+         * Return the instance, if any, to the pool.
+         */
+        @Override
+        public void close() {
+            if (instance != null) {
+                idle.add(instance);
+                instance = null;
+            }
+        }
+    }
+}
@@ -18,6 +18,15 @@ public class MethodWithArguments extends FrameworkMethod {
 
     private final Object[] args;
 
+    private final int[] argIndexes;
+
+    private final long ordinal;
+
+    private final String valuesFingerprint;
+
+    /** The identity of the case, once worked out. */
+    private String caseId;
+
     /**
      * Instantiates a new method with arguments.
      *
@@ -27,8 +36,101 @@ public class MethodWithArguments extends FrameworkMethod {
      *            the args
      */
     public MethodWithArguments(Method method, Object[] args) {
+        this(method, args, null, -1, null);
+    }
+
+    private MethodWithArguments(Method method, Object[] args, int[] argIndexes, long ordinal,
+            String valuesFingerprint) {
         super(method);
         this.args = args;
+        this.argIndexes = argIndexes;
+        this.ordinal = ordinal;
+        this.valuesFingerprint = valuesFingerprint;
+    }
+
+    /**
+     * Start building a method with arguments, recording more about where they
+     * came from than the plain constructor does.
+     *
+     * @param method
+     *            the method
+     * @param args
+     *            the args
+     * @return the builder
+     */
+    public static Builder builder(Method method, Object[] args) {
+        return new Builder(method, args);
+    }
+
+    /**
+     * Builds a method with arguments; anything not given is not known.
+     */
+    public static final class Builder {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private int[] argIndexes;
+
+        private long ordinal = -1;
+
+        private String valuesFingerprint;
+
+        private Builder(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        /**
+         * Record where each argument came from in the list of potential
+         * values for its parameter.
+         *
+         * @param newArgIndexes
+         *            the index of each argument among the values for its
+         *            parameter
+         * @return the builder
+         */
+        public Builder withArgIndexes(int[] newArgIndexes) {
+            this.argIndexes = newArgIndexes;
+            return this;
+        }
+
+        /**
+         * Record where the case came in the order its theory's cases were
+         * generated.
+         *
+         * @param newOrdinal
+         *            the zero-based position of the case among all those
+         *            generated for its theory, in every shard
+         * @return the builder
+         */
+        public Builder withOrdinal(long newOrdinal) {
+            this.ordinal = newOrdinal;
+            return this;
+        }
+
+        /**
+         * Record the values the arguments were picked from.
+         *
+         * @param newValuesFingerprint
+         *            a digest of the values for every parameter, which with
+         *            the indexes identifies the arguments
+         * @return the builder
+         */
+        public Builder withValuesFingerprint(String newValuesFingerprint) {
+            this.valuesFingerprint = newValuesFingerprint;
+            return this;
+        }
+
+        /**
+         * Builds the method with arguments.
+         *
+         * @return the method with arguments
+         */
+        public MethodWithArguments build() {
+            return new MethodWithArguments(method, args, argIndexes, ordinal, valuesFingerprint);
+        }
     }
 
     @Override
@@ -75,6 +177,63 @@ public class MethodWithArguments extends FrameworkMethod {
         return getName();
     }
 
+    /**
+     * Gets the arguments.
+     *
+     * @return a copy of the arguments
+     */
+    public Object[] getArguments() {
+        return args.clone();
+    }
+
+    /** The arguments themselves, not to be changed. */
+    Object[] arguments() {
+        return args;
+    }
+
+    /**
+     * Gets the index of each argument among the values for its parameter.
+     *
+     * @return the indexes, or null if not known
+     */
+    public int[] getArgIndexes() {
+        return argIndexes;
+    }
+
+    /**
+     * Gets the digest of the values the arguments were picked from.
+     *
+     * @return the digest, or null if not known
+     */
+    public String getValuesFingerprint() {
+        return valuesFingerprint;
+    }
+
+    /**
+     * Gets the stable identity of the case, as {@link CaseIds#idOf} describes,
+     * working it out only the first time. Racing threads may both work it
+     * out, but they get the same string.
+     *
+     * @return the identity
+     */
+    public String getCaseId() {
+        String id = caseId;
+        if (id == null) {
+            id = CaseIds.computeIdOf(this);
+            caseId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the position of the case among all those generated for its theory.
+     *
+     * @return the ordinal, or -1 if not known
+     */
+    public long getOrdinal() {
+        return ordinal;
+    }
+
     /**
      * Gets the underlying method, without arguments specified.
      *
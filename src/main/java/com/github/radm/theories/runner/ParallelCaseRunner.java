@@ -0,0 +1,178 @@
+package com.github.radm.theories.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run batches of test cases concurrently. Each batch runs to completion before
+ * the call returns, so cases from different batches never overlap. If cases
+ * throw, the first exception is rethrown, but only once every case of the
+ * batch has finished.
+ */
+public class ParallelCaseRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelCaseRunner.class);
+
+    private final int parallelism;
+
+    private ForkJoinPool pool;
+
+    private final Map<Integer, ExecutorService> threadPerCaseExecutors = new HashMap<>();
+
+    /**
+     * Instantiates a new parallel case runner.
+     *
+     * @param parallelism
+     *            the number of threads to use
+     */
+    public ParallelCaseRunner(int parallelism) {
+        super();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Run a batch of cases, returning once all have completed.
+     *
+     * @param cases
+     *            the cases
+     */
+    public void runAll(List<Runnable> cases) {
+
+        if (pool == null) {
+            LOG.debug("starting pool of {} threads", parallelism);
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(cases.size());
+        for (Runnable r : cases) {
+            tasks.add(pool.submit(r));
+        }
+
+        // join rethrows anything that escaped the case, such as a request to
+        // stop the run
+        Throwable first = null;
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException | Error e) {
+                if (first == null) {
+                    first = e;
+                }
+            }
+        }
+        if (first != null) {
+            rethrow(first);
+        }
+    }
+
+    /**
+     * Run a batch of cases, each on its own thread, returning once all have
+     * completed. Threads are virtual where the JVM supports it.
+     *
+     * @param cases
+     *            the cases
+     * @param maxConcurrency
+     *            the maximum number of cases running at once
+     * @throws IllegalStateException
+     *             if interrupted before every case had started; the cases
+     *             already started are still waited for
+     */
+    public void runOnThreadPerCase(List<Runnable> cases, int maxConcurrency) {
+
+        ExecutorService executor = threadPerCaseExecutors.computeIfAbsent(maxConcurrency, max -> {
+            LOG.debug("starting thread per case executor, virtual: {}", CaseThreads.isVirtual());
+            return CaseThreads.newExecutor(max);
+        });
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<?>> tasks = new ArrayList<>(cases.size());
+        InterruptedException interrupted = null;
+        try {
+            for (Runnable r : cases) {
+                permits.acquire();
+                tasks.add(executor.submit(() -> {
+                    try {
+                        r.run();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            interrupted = e;
+        }
+
+        Throwable first = awaitAll(tasks);
+        if (interrupted != null) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "interrupted with " + (cases.size() - tasks.size()) + " cases not started", interrupted);
+        }
+        if (first != null) {
+            rethrow(first);
+        }
+    }
+
+    /**
+     * Wait for every task, even if interrupted meanwhile, so none is still
+     * reporting to the notifier once the batch returns.
+     *
+     * @return the first exception thrown by a task, or null if none
+     */
+    private static Throwable awaitAll(List<Future<?>> tasks) {
+        Throwable first = null;
+        boolean interrupted = false;
+        for (Future<?> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (first == null) {
+                        first = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return first;
+    }
+
+    private static void rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IllegalStateException(t);
+    }
+
+    /**
+     * Release the threads, if any were started.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        threadPerCaseExecutors.values().forEach(ExecutorService::shutdown);
+        threadPerCaseExecutors.clear();
+    }
+}
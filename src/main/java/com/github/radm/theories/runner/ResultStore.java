@@ -0,0 +1,179 @@
+package com.github.radm.theories.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk record of the cases of a test class that passed, so they can be
+ * skipped while their arguments and code are unchanged. Safe to use from
+ * concurrently running cases.
+ *
+ * Each entry maps a case to the digest of the code it ran against. Entries for
+ * a theory whose code has since changed are dropped when the store is saved.
+ */
+public class ResultStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResultStore.class);
+
+    private final Path file;
+
+    private final Map<String, String> previous = new ConcurrentHashMap<>();
+
+    private final Map<String, String> passed = new ConcurrentHashMap<>();
+
+    private final Map<String, String> codeDigests = new ConcurrentHashMap<>();
+
+    private ResultStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the store for a test class, loading any earlier results.
+     *
+     * @param stateDir
+     *            the directory where state is kept
+     * @param testClass
+     *            the test class
+     * @return the store
+     * @throws IOException
+     *             if earlier results could not be read
+     */
+    public static ResultStore open(Path stateDir, Class<?> testClass) throws IOException {
+
+        ResultStore store = empty(stateDir, testClass);
+
+        if (Files.exists(store.file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(store.file)) {
+                properties.load(in);
+            }
+            properties.stringPropertyNames().forEach(k -> store.previous.put(k, properties.getProperty(k)));
+            LOG.debug("loaded {} results from {}", store.previous.size(), store.file);
+        }
+
+        return store;
+    }
+
+    /**
+     * Make a store for a test class without earlier results, as when those
+     * could not be read; saving it replaces them.
+     *
+     * @param stateDir
+     *            the directory where state is kept
+     * @param testClass
+     *            the test class
+     * @return the store
+     */
+    public static ResultStore empty(Path stateDir, Class<?> testClass) {
+        return new ResultStore(stateDir.resolve("results").resolve(testClass.getName() + ".properties"));
+    }
+
+    /**
+     * Compute a digest of the bytecode of some classes.
+     *
+     * @param classes
+     *            the classes
+     * @return the digest, in hex
+     * @throws IOException
+     *             if the bytecode of a class could not be found
+     */
+    public static String codeDigest(Collection<Class<?>> classes) throws IOException {
+
+        MessageDigest digest = CaseIds.sha256();
+        for (Class<?> cls : classes) {
+            String resource = cls.getName().replace('.', '/') + ".class";
+            ClassLoader loader = cls.getClassLoader() != null ? cls.getClassLoader()
+                    : ClassLoader.getSystemClassLoader();
+
+            try (InputStream in = loader.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("no bytecode found for " + cls.getName());
+                }
+                digest.update(cls.getName().getBytes(StandardCharsets.UTF_8));
+                byte[] buffer = new byte[8192];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return CaseIds.toHex(digest.digest());
+    }
+
+    /**
+     * Start tracking results for a theory against the current digest of its
+     * code.
+     *
+     * @param theoryName
+     *            the theory name
+     * @param codeDigest
+     *            the digest of the code it runs against
+     */
+    public void track(String theoryName, String codeDigest) {
+        codeDigests.put(theoryName, codeDigest);
+    }
+
+    /**
+     * Checks whether a case passed on an earlier run against the same code.
+     *
+     * @param mwa
+     *            the case
+     * @return true, if so
+     */
+    public boolean hasPassed(MethodWithArguments mwa) {
+        String codeDigest = codeDigests.get(mwa.getMethod().getName());
+        return codeDigest != null && codeDigest.equals(previous.get(CaseIds.idOf(mwa)));
+    }
+
+    /**
+     * Record a case as passing against the current code.
+     *
+     * @param mwa
+     *            the case
+     */
+    public void recordPass(MethodWithArguments mwa) {
+        String codeDigest = codeDigests.get(mwa.getMethod().getName());
+        if (codeDigest != null) {
+            passed.put(CaseIds.idOf(mwa), codeDigest);
+        }
+    }
+
+    /**
+     * Write results back, keeping earlier results that are still valid.
+     *
+     * @throws IOException
+     *             if the results could not be written
+     */
+    public void save() throws IOException {
+
+        Properties properties = new Properties();
+        previous.forEach((key, codeDigest) -> {
+            String current = codeDigests.get(CaseIds.theoryOf(key));
+            if (current == null || current.equals(codeDigest)) {
+                properties.setProperty(key, codeDigest);
+            }
+        });
+        passed.forEach(properties::setProperty);
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "passing theory cases");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        LOG.debug("saved {} results to {}", properties.size(), file);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.radm.theories.runner;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * A theory whose cases are generated as they are run, rather than up front.
+ */
+public class StreamedTheory extends FrameworkMethod {
+
+    private final ArgumentGenerator generator;
+
+    private Iterator<MethodWithArguments> firstRun;
+
+    private Set<String> selectedCases;
+
+    /**
+     * Instantiates a new streamed theory.
+     *
+     * @param generator
+     *            the generator for the theory's cases
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    public StreamedTheory(ArgumentGenerator generator) throws Throwable {
+        super(generator.getTestMethod().getMethod());
+        this.generator = generator;
+        this.firstRun = generator.iterateTestMethodsWithArgs();
+    }
+
+    /**
+     * Checks whether there are any cases, before the theory is first run.
+     *
+     * @return true, if so
+     */
+    public boolean hasCases() {
+        return firstRun == null || firstRun.hasNext();
+    }
+
+    /**
+     * Only generate the cases with the given names, as when a filter asks for
+     * particular cases. Those are looked for from the first case on, wherever
+     * an interrupted run had got to.
+     *
+     * @param names
+     *            the names of the cases, or null for all of them
+     */
+    public void selectCases(Set<String> names) {
+        selectedCases = names;
+        firstRun = null;
+        generator.resumeAfter(-1, null);
+    }
+
+    /**
+     * The names of the cases selected to run.
+     *
+     * @return the names, or null if all cases run
+     */
+    public Set<String> getSelectedCases() {
+        return selectedCases;
+    }
+
+    /**
+     * Start generating cases.
+     *
+     * @return the iterator over the cases
+     * @throws Throwable
+     *             if something goes wrong with test code calculating arguments
+     */
+    public Iterator<MethodWithArguments> cases() throws Throwable {
+        Iterator<MethodWithArguments> ret = firstRun;
+        firstRun = null;
+
+        if (ret == null) {
+            ret = generator.iterateTestMethodsWithArgs();
+        }
+        if (selectedCases != null) {
+            Set<String> names = selectedCases;
+            ret = StreamSupport.stream(Spliterators.spliteratorUnknownSize(ret, Spliterator.ORDERED), false)
+                    .filter(mwa -> names.contains(mwa.getName())).iterator();
+        }
+        return ret;
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.github.radm.theories.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk record of how far a resumable theory has got, and what happened to
+ * the cases run so far. Safe to use from concurrently running cases.
+ */
+public class TheoryCheckpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TheoryCheckpoint.class);
+
+    private final Path file;
+
+    private final String fingerprint;
+
+    private final long intervalNanos;
+
+    private long resumeOrdinal = -1;
+
+    private int[] resumeArgIndexes;
+
+    private int casesBefore;
+
+    private final List<String> failuresBefore = new ArrayList<>();
+
+    private final AtomicInteger casesRun = new AtomicInteger();
+
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    private long lastSaved = System.nanoTime();
+
+    private MethodWithArguments last;
+
+    private TheoryCheckpoint(Path file, String fingerprint, long intervalMillis) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Open the checkpoint for a theory, loading any left by an interrupted run
+     * that generated the same cases.
+     *
+     * @param stateDir
+     *            the directory where state is kept
+     * @param testClass
+     *            the test class
+     * @param theoryName
+     *            the theory name
+     * @param fingerprint
+     *            digest of what decides the order cases are generated in
+     * @param intervalMillis
+     *            how often to save the checkpoint
+     * @return the checkpoint
+     * @throws IOException
+     *             if an earlier checkpoint could not be read
+     */
+    public static TheoryCheckpoint open(Path stateDir, Class<?> testClass, String theoryName, String fingerprint,
+            long intervalMillis) throws IOException {
+
+        TheoryCheckpoint checkpoint = new TheoryCheckpoint(
+                stateDir.resolve("checkpoints").resolve(testClass.getName()).resolve(theoryName + ".properties"),
+                fingerprint, intervalMillis);
+
+        if (Files.exists(checkpoint.file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(checkpoint.file)) {
+                properties.load(in);
+            }
+
+            if (fingerprint.equals(properties.getProperty("fingerprint"))) {
+                checkpoint.load(properties);
+                LOG.debug("resuming {} after case {}", theoryName, checkpoint.resumeOrdinal);
+            } else {
+                LOG.debug("ignoring checkpoint of {} for different cases", theoryName);
+            }
+        }
+
+        return checkpoint;
+    }
+
+    private void load(Properties properties) throws IOException {
+        try {
+            resumeOrdinal = Long.parseLong(properties.getProperty("ordinal"));
+            String argIndexes = properties.getProperty("argIndexes", "");
+            resumeArgIndexes = argIndexes.isEmpty() ? new int[0]
+                    : Arrays.stream(argIndexes.split(",")).mapToInt(Integer::parseInt).toArray();
+            casesBefore = Integer.parseInt(properties.getProperty("cases"));
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IOException("malformed checkpoint " + file, e);
+        }
+
+        for (int i = 0; properties.containsKey("failure." + i); i++) {
+            failuresBefore.add(properties.getProperty("failure." + i));
+        }
+    }
+
+    /**
+     * Checks whether an interrupted run is being resumed.
+     *
+     * @return true, if so
+     */
+    public boolean isResuming() {
+        return resumeOrdinal >= 0;
+    }
+
+    /**
+     * Gets the position in generation order of the last case run before the
+     * checkpoint.
+     *
+     * @return the ordinal, or -1 if not resuming
+     */
+    public long getResumeOrdinal() {
+        return resumeOrdinal;
+    }
+
+    /**
+     * Gets the index of each argument of the last case run before the
+     * checkpoint.
+     *
+     * @return the indexes, or null if not resuming
+     */
+    public int[] getResumeArgIndexes() {
+        return resumeArgIndexes;
+    }
+
+    /**
+     * Gets the number of cases run before the checkpoint.
+     *
+     * @return the number of cases
+     */
+    public int getCasesBefore() {
+        return casesBefore;
+    }
+
+    /**
+     * Gets the names of the cases that failed before the checkpoint.
+     *
+     * @return the names
+     */
+    public List<String> getFailuresBefore() {
+        return Collections.unmodifiableList(failuresBefore);
+    }
+
+    /**
+     * Record the outcome of a case.
+     *
+     * @param mwa
+     *            the case
+     * @param outcome
+     *            the outcome
+     */
+    public void recordOutcome(MethodWithArguments mwa, ChunkResult.Outcome outcome) {
+        casesRun.incrementAndGet();
+        if (outcome == ChunkResult.Outcome.FAILED) {
+            failures.add(mwa.getName());
+        }
+    }
+
+    /**
+     * Save the checkpoint if it is due, once every case up to and including a
+     * given one has run.
+     *
+     * @param last
+     *            the last case generated
+     * @throws IOException
+     *             if the checkpoint could not be written
+     */
+    public synchronized void saveIfDue(MethodWithArguments last) throws IOException {
+
+        this.last = last;
+        if (System.nanoTime() - lastSaved < intervalNanos) {
+            return;
+        }
+        save();
+    }
+
+    /**
+     * Save the checkpoint now, after the last case passed to
+     * {@link #saveIfDue(MethodWithArguments)}, as when the theory stops with
+     * cases left to run. Does nothing if no case has run.
+     *
+     * @throws IOException
+     *             if the checkpoint could not be written
+     */
+    public synchronized void save() throws IOException {
+
+        if (last == null) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("fingerprint", fingerprint);
+        properties.setProperty("ordinal", Long.toString(last.getOrdinal()));
+        int[] argIndexes = last.getArgIndexes() != null ? last.getArgIndexes() : new int[0];
+        properties.setProperty("argIndexes",
+                Arrays.stream(argIndexes).mapToObj(Integer::toString).collect(Collectors.joining(",")));
+        properties.setProperty("cases", Integer.toString(casesBefore + casesRun.get()));
+
+        List<String> allFailures = new ArrayList<>(failuresBefore);
+        allFailures.addAll(failures);
+        for (int i = 0; i < allFailures.size(); i++) {
+            properties.setProperty("failure." + i, allFailures.get(i));
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "progress of an interrupted theory");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        lastSaved = System.nanoTime();
+        LOG.debug("saved checkpoint after case {} to {}", last.getOrdinal(), file);
+    }
+
+    /**
+     * Remove the checkpoint once the theory has run to the end.
+     *
+     * @throws IOException
+     *             if the checkpoint could not be removed
+     */
+    public void complete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+}
@@ -0,0 +1,337 @@
+package com.github.radm.theories.runner;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * How the cases of a theory are run, as worked out from its annotations and
+ * the settings in force, so that it is looked up once per theory. Filled in
+ * while the test tree is built, then only read, apart from the state of the
+ * parts that track progress, which are safe to use from concurrently running
+ * cases.
+ */
+public class TheoryOptions {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TheoryOptions.class);
+
+    private final Description description;
+
+    private MethodHandle invoker;
+
+    private Class<?>[] parameterTypes;
+
+    private Class<?>[] argumentTypes;
+
+    private AssumptionsFailureCounter assumptionChecks;
+
+    private Consumer<List<Runnable>> batchRunner;
+
+    private Integer chunkSize;
+
+    private CaseLimit limit;
+
+    private TheoryCheckpoint checkpoint;
+
+    private InstancePool instancePool;
+
+    /**
+     * Instantiates the options of a theory, with every feature off.
+     *
+     * @param description
+     *            the description of the theory
+     */
+    public TheoryOptions(Description description) {
+        this.description = description;
+    }
+
+    /**
+     * Call the theory through a method handle, if it can be bound, working
+     * out once what its arguments must be for the handle to be used.
+     *
+     * @param theory
+     *            the theory method
+     * @return the options
+     */
+    public TheoryOptions withInvoker(Method theory) {
+        this.invoker = BoundMethods.invoker(theory);
+        if (invoker != null) {
+            this.parameterTypes = theory.getParameterTypes();
+            this.argumentTypes = BoundMethods.argumentTypes(parameterTypes);
+        }
+        return this;
+    }
+
+    /**
+     * Count the cases that fail assumptions, for a theory whose cases are all
+     * known up front.
+     *
+     * @param newAssumptionChecks
+     *            the counter
+     * @return the options
+     */
+    public TheoryOptions withAssumptionChecks(AssumptionsFailureCounter newAssumptionChecks) {
+        this.assumptionChecks = newAssumptionChecks;
+        return this;
+    }
+
+    /**
+     * Run cases concurrently, a batch at a time.
+     *
+     * @param newBatchRunner
+     *            runs a batch of cases, returning once all have completed
+     * @return the options
+     */
+    public TheoryOptions withBatchRunner(Consumer<List<Runnable>> newBatchRunner) {
+        this.batchRunner = newBatchRunner;
+        return this;
+    }
+
+    /**
+     * Report cases in groups.
+     *
+     * @param newChunkSize
+     *            the number of cases in each group, or 0 for all of them
+     * @return the options
+     */
+    public TheoryOptions withChunkSize(int newChunkSize) {
+        this.chunkSize = newChunkSize;
+        return this;
+    }
+
+    /**
+     * Skip the remaining cases once a limit is reached.
+     *
+     * @param newLimit
+     *            the limit
+     * @return the options
+     */
+    public TheoryOptions withLimit(CaseLimit newLimit) {
+        this.limit = newLimit;
+        return this;
+    }
+
+    /**
+     * Keep track of how far the theory has got, so an interrupted run can be
+     * resumed.
+     *
+     * @param newCheckpoint
+     *            the checkpoint
+     * @return the options
+     */
+    public TheoryOptions withCheckpoint(TheoryCheckpoint newCheckpoint) {
+        this.checkpoint = newCheckpoint;
+        return this;
+    }
+
+    /**
+     * Reuse test instances between cases.
+     *
+     * @param newInstancePool
+     *            the pool of instances
+     * @return the options
+     */
+    public TheoryOptions withInstancePool(InstancePool newInstancePool) {
+        this.instancePool = newInstancePool;
+        return this;
+    }
+
+    /**
+     * Gets the description of the theory.
+     *
+     * @return the description
+     */
+    public Description getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the handle that calls the theory.
+     *
+     * @return the handle, or null if the theory is called by reflection
+     */
+    public MethodHandle getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Get a statement that calls the theory for a case through its handle.
+     * An exception from the theory is thrown as it is, just as the caller
+     * would see it once it had unwrapped it from reflection.
+     *
+     * @param mwa
+     *            the case
+     * @param test
+     *            the test instance
+     * @return the statement, or null if the theory, or the case's arguments,
+     *         are left to reflection
+     */
+    public Statement boundInvocation(MethodWithArguments mwa, Object test) {
+        if (invoker == null) {
+            return null;
+        }
+
+        Object[] args = mwa.arguments();
+        if (!BoundMethods.accepts(parameterTypes, argumentTypes, args)) {
+            return null;
+        }
+
+        MethodHandle handle = invoker;
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                LOG.trace("Executing {}", mwa);
+                Object ignored = (Object) handle.invokeExact(test, args);
+            }
+        };
+    }
+
+    /**
+     * Gets the counter of cases failing assumptions.
+     *
+     * @return the counter, or null if the cases are streamed
+     */
+    public AssumptionsFailureCounter getAssumptionChecks() {
+        return assumptionChecks;
+    }
+
+    /**
+     * Gets what runs a batch of cases concurrently.
+     *
+     * @return the batch runner, or null if cases run one at a time
+     */
+    public Consumer<List<Runnable>> getBatchRunner() {
+        return batchRunner;
+    }
+
+    /**
+     * Checks whether cases run concurrently.
+     *
+     * @return true, if so
+     */
+    public boolean isParallel() {
+        return batchRunner != null;
+    }
+
+    /**
+     * Gets the number of cases reported together.
+     *
+     * @return the number of cases in each group, 0 for all of them, or null
+     *         if each case is reported on its own
+     */
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Gets the limit on how far the theory runs.
+     *
+     * @return the limit, or null if there is none
+     */
+    public CaseLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks whether the theory has reached its limit, if it has one.
+     *
+     * @return true, if so
+     */
+    public boolean isLimitReached() {
+        return limit != null && limit.isReached();
+    }
+
+    /**
+     * Gets the checkpoint.
+     *
+     * @return the checkpoint, or null if the theory is not resumable
+     */
+    public TheoryCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Gets the pool of reused test instances.
+     *
+     * @return the pool, or null if each case has its own instance
+     */
+    public InstancePool getInstancePool() {
+        return instancePool;
+    }
+
+    /**
+     * Record the outcome of a case against the limit and checkpoint.
+     *
+     * @param mwa
+     *            the case
+     * @param outcome
+     *            the outcome
+     */
+    public void recordOutcome(MethodWithArguments mwa, ChunkResult.Outcome outcome) {
+        if (checkpoint != null) {
+            checkpoint.recordOutcome(mwa, outcome);
+        }
+        if (limit != null && outcome == ChunkResult.Outcome.FAILED) {
+            limit.recordFailure();
+        }
+    }
+
+    /**
+     * Save the checkpoint, if any and if due, once every case up to and
+     * including the given one has run.
+     *
+     * @param last
+     *            the last case generated
+     */
+    public void saveCheckpoint(MethodWithArguments last) {
+        if (checkpoint == null) {
+            return;
+        }
+
+        try {
+            checkpoint.saveIfDue(last);
+        } catch (IOException e) {
+            LOG.warn("could not save checkpoint of {}", last.getParent(), e);
+        }
+    }
+
+    /**
+     * Remove the checkpoint, if any, of a theory that ran to the end; one
+     * stopped early by its limits saves where it got to, so the next run
+     * carries on from there.
+     *
+     * @param ranToEnd
+     *            whether every case of the theory was run
+     */
+    public void finishCheckpoint(boolean ranToEnd) {
+        if (checkpoint == null) {
+            return;
+        }
+
+        try {
+            if (ranToEnd) {
+                checkpoint.complete();
+            } else {
+                checkpoint.save();
+            }
+        } catch (IOException e) {
+            LOG.warn("could not save checkpoint of {}", description, e);
+        }
+    }
+
+    /**
+     * Let go of any reused test instances once the theory has run.
+     */
+    public void releaseInstances() {
+        if (instancePool != null) {
+            instancePool.clear();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.radm.theories.runner;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * Look up the options that control how a theory is run, either from
+ * annotations on the theory or its class, or from system properties.
+ */
+public final class TheorySettings {
+
+    /** System property for the number of threads used by parallel theories. */
+    public static final String PARALLELISM = "theorysuite.parallelism";
+
+    /**
+     * System property that, if true, leaves the cases of each theory out of the
+     * test tree until they run.
+     */
+    public static final String LAZY_DESCRIPTIONS = "theorysuite.lazyDescriptions";
+
+    /**
+     * System property for the number of failing cases after which any theory
+     * without its own {@code @FailFast} stops.
+     */
+    public static final String MAX_FAILURES = "theorysuite.maxFailures";
+
+    /** System property for the zero-based index of the shard to run. */
+    public static final String SHARD_INDEX = "theorysuite.shardIndex";
+
+    /**
+     * System property for the number of shards the tests are split across, for
+     * example one per CI agent.
+     */
+    public static final String SHARD_COUNT = "theorysuite.shardCount";
+
+    /**
+     * System property for the directory where results and other state are
+     * kept between runs.
+     */
+    public static final String STATE_DIR = "theorysuite.stateDir";
+
+    /**
+     * System property that, if true, records failing cases and runs them first
+     * next time.
+     */
+    public static final String FAILURES_FIRST = "theorysuite.failuresFirst";
+
+    /**
+     * System property that, if true, records how long cases take and starts
+     * the longest cases of parallel theories first next time.
+     */
+    public static final String LONGEST_FIRST = "theorysuite.longestFirst";
+
+    /**
+     * System property for the most combinations of argument values a
+     * constraint is evaluated over up front, rather than as combinations are
+     * generated.
+     */
+    public static final String TABULATE_CONSTRAINTS = "theorysuite.tabulateConstraints";
+
+    /**
+     * System property that, if true, generates the cases of constrained
+     * theories across all cores before they run.
+     */
+    public static final String PARALLEL_GENERATION = "theorysuite.parallelGeneration";
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h)");
+
+    private TheorySettings() {
+    }
+
+    /**
+     * Find an annotation on a theory, falling back to the test class and then
+     * the class that declares the theory.
+     *
+     * @param <A>
+     *            the annotation type
+     * @param fm
+     *            the theory
+     * @param testClass
+     *            the test class
+     * @param annotationType
+     *            the annotation type
+     * @return the annotation, or null if none
+     */
+    public static <A extends Annotation> A findAnnotation(FrameworkMethod fm, TestClass testClass,
+            Class<A> annotationType) {
+
+        A annotation = fm.getAnnotation(annotationType);
+        if (annotation == null) {
+            annotation = testClass.getJavaClass().getAnnotation(annotationType);
+        }
+        if (annotation == null) {
+            annotation = fm.getDeclaringClass().getAnnotation(annotationType);
+        }
+        return annotation;
+    }
+
+    /**
+     * Parse a duration written as a number and a unit, one of ms, s, m or h.
+     *
+     * @param duration
+     *            the duration, for example "30s"
+     * @return the duration in milliseconds
+     * @throws IllegalArgumentException
+     *             if the duration is malformed
+     */
+    public static long durationMillis(String duration) {
+
+        Matcher matcher = DURATION.matcher(duration.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                    "Malformed duration '" + duration + "'; expected a number followed by ms, s, m or h");
+        }
+
+        long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+        case "ms":
+            return amount;
+        case "s":
+            return TimeUnit.SECONDS.toMillis(amount);
+        case "m":
+            return TimeUnit.MINUTES.toMillis(amount);
+        default:
+            return TimeUnit.HOURS.toMillis(amount);
+        }
+    }
+
+    /**
+     * Number of threads to use for parallel theories.
+     *
+     * @return the parallelism
+     */
+    public static int parallelism() {
+        return Math.max(1, Integer.getInteger(PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Whether cases should only be described as they run.
+     *
+     * @return true, if so
+     */
+    public static boolean lazyDescriptions() {
+        return Boolean.getBoolean(LAZY_DESCRIPTIONS);
+    }
+
+    /**
+     * Whether cases that failed last time should run first.
+     *
+     * @return true, if so
+     */
+    public static boolean failuresFirst() {
+        return Boolean.getBoolean(FAILURES_FIRST);
+    }
+
+    /**
+     * Whether the longest cases of parallel theories should start first.
+     *
+     * @return true, if so
+     */
+    public static boolean longestFirst() {
+        return Boolean.getBoolean(LONGEST_FIRST);
+    }
+
+    /**
+     * Most combinations of argument values a constraint is evaluated over up
+     * front.
+     *
+     * @return the number of combinations, or 0 if constraints are only
+     *         evaluated as needed
+     */
+    public static int tabulateConstraints() {
+        return Math.max(0, Integer.getInteger(TABULATE_CONSTRAINTS, 0));
+    }
+
+    /**
+     * Whether the cases of constrained theories are generated in parallel.
+     *
+     * @return true, if so
+     */
+    public static boolean parallelGeneration() {
+        return Boolean.getBoolean(PARALLEL_GENERATION);
+    }
+
+    /**
+     * Number of failing cases after which theories stop by default.
+     *
+     * @return the limit, or 0 if theories run all their cases
+     */
+    public static int maxFailures() {
+        return Math.max(0, Integer.getInteger(MAX_FAILURES, 0));
+    }
+
+    /**
+     * Number of shards the tests are split across.
+     *
+     * @return the shard count
+     */
+    public static int shardCount() {
+        return Math.max(1, Integer.getInteger(SHARD_COUNT, 1));
+    }
+
+    /**
+     * Index of the shard to run.
+     *
+     * @param shardCount
+     *            the number of shards
+     * @return the shard index
+     * @throws IllegalArgumentException
+     *             if the index is not a valid shard
+     */
+    public static int shardIndex(int shardCount) {
+        int shardIndex = Integer.getInteger(SHARD_INDEX, 0);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(
+                    SHARD_INDEX + " is " + shardIndex + " but must be from 0 to " + (shardCount - 1));
+        }
+        return shardIndex;
+    }
+
+    /**
+     * Directory where state is kept between runs.
+     *
+     * @return the directory, which may not exist yet
+     */
+    public static Path stateDir() {
+        return Paths.get(System.getProperty(STATE_DIR, "target/theorysuite"));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.radm.theories.runner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Create the threads used to run one case per thread. This version uses
+ * virtual threads, so that cases blocked on I/O do not hold on to a platform
+ * thread.
+ */
+final class CaseThreads {
+
+    private CaseThreads() {
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread per case. The
+     * caller is responsible for limiting concurrency.
+     *
+     * @param maxConcurrency
+     *            the maximum number of cases running at once
+     * @return the executor
+     */
+    static ExecutorService newExecutor(int maxConcurrency) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("theory-case-", 0).factory());
+    }
+
+    /**
+     * Whether threads are virtual.
+     *
+     * @return true, if so
+     */
+    static boolean isVirtual() {
+        return true;
+    }
+}
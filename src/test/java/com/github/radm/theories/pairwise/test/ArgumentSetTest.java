@@ -73,6 +73,10 @@ public abstract class ArgumentSetTest {
             .withConstraint("b", args -> 3 <= ((Integer) args[0] + (Integer) args[1]))
             .withConstraint("c", args -> 2 >= ((Integer) args[0] + (Integer) args[2]));
 
+    public static @DataPoint ArgumentSet threeIntsProjectedBySum = makeThreeIntegers()
+            .withConstraint("b", new int[] { 0, 1 }, args -> 3 <= ((Integer) args[0] + (Integer) args[1]))
+            .withConstraint("c", new int[] { 0, 2 }, args -> 2 >= ((Integer) args[0] + (Integer) args[1]));
+
     private static boolean isOdd(int i) {
         return i % 2 != 0;
     }
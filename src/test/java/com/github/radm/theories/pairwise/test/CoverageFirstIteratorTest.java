@@ -0,0 +1,75 @@
+package com.github.radm.theories.pairwise.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.junit.contrib.theories.Theories;
+import org.junit.runner.RunWith;
+
+import com.github.radm.theories.pairwise.ArgVector;
+import com.github.radm.theories.pairwise.ArgumentSet;
+import com.github.radm.theories.pairwise.PairCoverage;
+
+/**
+ * unit test of coverage-first iteration and pair coverage. Note uses old
+ * theories runner to be safe.
+ */
+@SuppressWarnings("javadoc")
+@RunWith(Theories.class)
+public class CoverageFirstIteratorTest extends ArgumentSetTest {
+
+    @Test
+    public void expectedLengthForThreeIntegers() {
+        assertEquals(27, countArguments(threeIntegers));
+    }
+
+    @Test
+    public void expectedLengthForThreeIntsConstrained() {
+        assertEquals(8, countArguments(threeIntsConstrained));
+    }
+
+    @Test
+    public void expectedLengthForFourDays() {
+        assertEquals(7 * 7 * 7 * 7, countArguments(fourDays));
+    }
+
+    @Test
+    public void expectedLengthForFourWeekDays() {
+        assertEquals(5 * 5 * 5 * 5, countArguments(fourWeekDays));
+    }
+
+    @Test
+    public void allPairsCoveredFirst() {
+
+        PairCoverage coverage = new PairCoverage(fourDays);
+        assertEquals(6 * 7 * 7, coverage.getPairCount());
+
+        Iterator<ArgVector> iter = fourDays.coverageFirstIterator();
+        // same count as the pairwise iterator
+        for (int i = 0; i < 63 && iter.hasNext(); i++) {
+            coverage.record(iter.next().args);
+        }
+
+        assertEquals(coverage.getPairCount(), coverage.getPairsCovered());
+    }
+
+    @Test
+    public void partialCoverage() {
+
+        PairCoverage coverage = new PairCoverage(threeIntegers);
+        coverage.record(new int[] { 0, 0, 0 });
+        coverage.record(new int[] { 0, 0, 1 });
+
+        assertEquals(27, coverage.getPairCount());
+        assertEquals(5, coverage.getPairsCovered());
+    }
+
+    private int countArguments(ArgumentSet as) {
+        Iterator<ArgVector> iter = as.coverageFirstIterator();
+
+        return countByIterator(as, iter);
+    }
+
+}
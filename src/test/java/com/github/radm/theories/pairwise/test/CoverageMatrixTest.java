@@ -0,0 +1,167 @@
+package com.github.radm.theories.pairwise.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.radm.theories.pairwise.CoverageMatrix;
+
+@SuppressWarnings("javadoc")
+public class CoverageMatrixTest {
+    final static int[] twoCols = { 2, 3 };
+
+    CoverageMatrix onlyPair = new CoverageMatrix(twoCols);
+
+    @Test
+    public void initialState() {
+
+        assertTrue(!onlyPair.isComplete());
+
+    }
+
+    @Test
+    public void finalState() {
+
+        onlyPair.select(0, 0, 1, 0);
+        onlyPair.select(0, 0, 1, 1);
+        onlyPair.select(0, 0, 1, 2);
+
+        onlyPair.select(0, 1, 1, 0);
+        onlyPair.select(0, 1, 1, 1);
+        onlyPair.select(0, 1, 1, 2);
+
+        assertTrue(onlyPair.isComplete());
+    }
+
+    @Test
+    public void firstSelection() {
+
+        assertEquals(0, onlyPair.selectGiven(0, new int[] { -1, -1 })[0]);
+        assertEquals(0, onlyPair.selectGiven(1, new int[] { 0, -1 })[0]);
+
+        assertTrue(!onlyPair.isComplete());
+
+    }
+
+    @Test
+    public void secondSelection() {
+
+        onlyPair.select(0, 0, 1, 0);
+
+        assertTrue(!onlyPair.isComplete());
+
+        assertEquals(1, onlyPair.selectGiven(0, new int[] { -1, -1 })[0]);
+        assertEquals(1, onlyPair.selectGiven(1, new int[] { 1, -1 })[0]);
+    }
+
+    @Test
+    public void thirdSelection() {
+
+        onlyPair.select(0, 0, 1, 0);
+        onlyPair.select(0, 1, 1, 1);
+
+        assertTrue(!onlyPair.isComplete());
+
+        assertEquals(0, onlyPair.selectGiven(0, new int[] { -1, -1 })[0]);
+        assertEquals(2, onlyPair.selectGiven(1, new int[] { 0, -1 })[0]);
+    }
+
+    @Test
+    public void finalSelection() {
+        onlyPair.select(0, 0, 1, 0);
+        onlyPair.select(0, 1, 1, 1);
+        onlyPair.select(0, 0, 1, 1);
+        onlyPair.select(0, 0, 1, 2);
+        onlyPair.select(0, 1, 1, 0);
+        assertTrue(!onlyPair.isComplete());
+
+        assertEquals(1, onlyPair.selectGiven(0, new int[] { -1, -1 })[0]);
+        assertEquals(2, onlyPair.selectGiven(1, new int[] { 1, -1 })[0]);
+    }
+
+    @Test
+    public void densitiesFollowSelections() {
+
+        double before = onlyPair.globalDensity(1);
+        assertTrue(onlyPair.select(0, 0, 1, 2));
+        assertTrue(!onlyPair.select(1, 2, 0, 0));
+
+        assertEquals(before - 1.0 / 2, onlyPair.globalDensity(1), 1e-9);
+        assertEquals(onlyPair.selectGiven(1, new int[] { 0, -1 })[0], onlyPair.bestGiven(1, new int[] { 0, -1 }));
+        assertEquals(0, onlyPair.bestGiven(1, new int[] { 0, -1 }));
+    }
+
+    @Test
+    public void pairsOfManyColumnsPackedApart() {
+
+        CoverageMatrix matrix = new CoverageMatrix(new int[] { 3, 5, 2, 7, 4 });
+        assertEquals(15 + 6 + 21 + 12 + 10 + 35 + 20 + 14 + 8 + 28, matrix.getPairCount());
+
+        assertEquals(10, matrix.selectRow(new int[] { 2, 4, 1, 6, 3 }));
+        assertEquals(0, matrix.selectRow(new int[] { 2, 4, 1, 6, 3 }));
+        assertEquals(4, matrix.selectRow(new int[] { 2, 4, 1, 6, 2 }));
+
+        assertTrue(matrix.isSelected(3, 6, 1, 4));
+        assertTrue(!matrix.isSelected(3, 5, 1, 4));
+        assertTrue(matrix.isRowCovered(new int[] { 2, 4, 1, 6, 2 }));
+        assertEquals(14, matrix.getSelected());
+    }
+
+    @Test
+    public void highWatermarkLeavesOnlyUnselectedToCover() {
+
+        onlyPair.select(0, 0, 1, 0);
+        onlyPair.select(0, 1, 1, 2);
+        onlyPair.setAsHighWatermark();
+
+        assertEquals(4, onlyPair.getSelected());
+        assertTrue(onlyPair.isSelected(0, 0, 1, 1));
+        assertTrue(!onlyPair.isSelected(0, 0, 1, 0));
+
+        onlyPair.select(0, 0, 1, 0);
+        onlyPair.select(0, 1, 1, 2);
+        assertTrue(onlyPair.isComplete());
+    }
+
+    @Test
+    public void onlyColumnsWithNewPairsChangeDensity() {
+
+        int[] numOptions = { 3, 5, 2, 7, 4 };
+        CoverageMatrix matrix = new CoverageMatrix(numOptions);
+        Random random = new Random(17);
+
+        for (int col = 0; col < numOptions.length; col++) {
+            assertTrue(matrix.takeDensityChanged(col));
+            assertTrue(!matrix.takeDensityChanged(col));
+        }
+
+        double[] densities = new double[numOptions.length];
+        for (int col = 0; col < numOptions.length; col++) {
+            densities[col] = matrix.globalDensity(col);
+        }
+
+        for (int pairNo = 0; pairNo < 60; pairNo++) {
+            int colOne = random.nextInt(numOptions.length);
+            int colTwo = (colOne + 1 + random.nextInt(numOptions.length - 1)) % numOptions.length;
+            boolean isNew = matrix.select(colOne, random.nextInt(numOptions[colOne]), colTwo,
+                    random.nextInt(numOptions[colTwo]));
+
+            for (int col = 0; col < numOptions.length; col++) {
+                boolean changed = matrix.takeDensityChanged(col);
+                assertEquals(isNew && (col == colOne || col == colTwo), changed);
+                if (changed) {
+                    densities[col] = matrix.globalDensity(col);
+                }
+                assertEquals(densities[col], matrix.globalDensity(col), 0.0);
+            }
+        }
+
+        matrix.setAsHighWatermark();
+        for (int col = 0; col < numOptions.length; col++) {
+            assertTrue(matrix.takeDensityChanged(col));
+        }
+    }
+}
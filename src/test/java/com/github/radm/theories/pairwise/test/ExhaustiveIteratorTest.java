@@ -1,9 +1,25 @@
 package com.github.radm.theories.pairwise.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
+import org.junit.contrib.theories.Theory;
 
+import com.github.radm.theories.pairwise.ArgVector;
 import com.github.radm.theories.pairwise.ArgumentSet;
 
 @SuppressWarnings("javadoc")
@@ -44,6 +60,200 @@ public class ExhaustiveIteratorTest extends ArgumentSetTest {
         assertEquals(5 * 5 * 5 * 5, countArguments(fourWeekDays));
     }
 
+    @Theory
+    public void resumesAfterAnyCombination(ArgumentSet as) {
+
+        List<String> all = new ArrayList<>();
+        List<int[]> indexes = new ArrayList<>();
+        for (ArgVector args : as) {
+            all.add(args.toString());
+            indexes.add(args.args.clone());
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            List<String> rest = new ArrayList<>();
+            Iterator<ArgVector> iter = as.iteratorAfter(indexes.get(i));
+            while (iter.hasNext()) {
+                rest.add(iter.next().toString());
+            }
+            assertEquals(all.subList(i + 1, all.size()), rest);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotResumeAfterUnknownValue() {
+        threeIntegers.iteratorAfter(new int[] { 0, 3, 0 });
+    }
+
+    @Test
+    public void projectedConstraintEvaluatedOncePerProjection() {
+
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Object[]> differentDays = args -> {
+            calls.incrementAndGet();
+            return args[0] != args[1];
+        };
+
+        List<String> plain = new ArrayList<>();
+        makeDays().withConstraint("c", args -> differentDays.test(new Object[] { args[0], args[2] }))
+                .forEach(av -> plain.add(av.toString()));
+        assertTrue(calls.toString(), calls.get() >= 7 * 7 * 7);
+
+        calls.set(0);
+        List<String> projected = new ArrayList<>();
+        makeDays().withConstraint("c", new int[] { 0, 2 }, differentDays).forEach(av -> projected.add(av.toString()));
+        assertEquals(7 * 7, calls.get());
+
+        assertEquals(plain, projected);
+        assertEquals(7 * 6 * 7, projected.size());
+    }
+
+    @Test
+    public void tabulatedConstraintEvaluatedUpFront() {
+
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Object[]> differentDays = args -> {
+            calls.incrementAndGet();
+            return args[0] != args[1];
+        };
+
+        List<String> lazy = new ArrayList<>();
+        makeDays().withConstraint("c", new int[] { 0, 2 }, differentDays).forEach(av -> lazy.add(av.toString()));
+
+        calls.set(0);
+        ArgumentSet tabulated = makeDays().withTabulatedConstraint("c", new int[] { 0, 2 }, differentDays, 49);
+        assertEquals(7 * 7, calls.get());
+
+        List<String> fromTable = new ArrayList<>();
+        tabulated.forEach(av -> fromTable.add(av.toString()));
+        assertEquals(7 * 7, calls.get());
+        assertEquals(lazy, fromTable);
+
+        calls.set(0);
+        makeDays().withTabulatedConstraint("c", new int[] { 0, 2 }, differentDays, 48);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void deadPrefixesAbandonedEarly() {
+
+        AtomicInteger visits = new AtomicInteger();
+        ArgumentSet as = makeDays().withConstraint("b", args -> visits.incrementAndGet() > 0)
+                .withConstraint("c", new int[] { 0, 2 }, args -> args[0] != DayOfWeek.MONDAY);
+
+        assertEquals(6 * 7 * 7, countArguments(as));
+        // no value of c goes with Monday, so b is never tried with it
+        assertEquals(6 * 7, visits.get());
+    }
+
+    @Test
+    public void sameCasesAsUnprojectedConstraints() {
+        List<String> projected = new ArrayList<>();
+        threeIntsProjectedBySum.forEach(av -> projected.add(av.toString()));
+        List<String> opaque = new ArrayList<>();
+        threeIntsConstrainedBySum.forEach(av -> opaque.add(av.toString()));
+
+        assertEquals(opaque, projected);
+    }
+
+    @Theory
+    public void returnedVectorsNotReused(ArgumentSet as) {
+
+        List<ArgVector> returned = new ArrayList<>();
+        List<String> asReturned = new ArrayList<>();
+        for (ArgVector args : as) {
+            returned.add(args);
+            asReturned.add(args.toString() + Arrays.toString(args.getArgVals()));
+        }
+
+        for (int i = 0; i < returned.size(); i++) {
+            ArgVector args = returned.get(i);
+            assertEquals(asReturned.get(i), args.toString() + Arrays.toString(args.getArgVals()));
+        }
+    }
+
+    @Test
+    public void randomAccessMatchesIteration() {
+
+        for (ArgumentSet as : Arrays.asList(oneBoolean, twoBooleans, threeIntegers, fourDays)) {
+            long index = 0;
+            for (ArgVector args : as) {
+                assertEquals(args.toString(), as.get(index++).toString());
+            }
+            assertEquals(index, as.size());
+        }
+    }
+
+    @Test
+    public void sizeIgnoresConstraints() {
+        assertEquals(27, threeIntsConstrained.size());
+        assertEquals("[2, 0, 1]", threeIntsConstrained.get(19).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void noCombinationPastEnd() {
+        threeIntegers.get(27);
+    }
+
+    @Theory
+    public void parallelStreamMatchesIteration(ArgumentSet as) {
+        assertEquals(toStrings(as), as.stream().parallel().map(ArgVector::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void unconstrainedSplitsSized() {
+
+        Spliterator<ArgVector> suffix = makeDays().spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(7 * 7 * 7, suffix.getExactSizeIfKnown());
+
+        Spliterator<ArgVector> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(7 * 7 * 7, prefix.getExactSizeIfKnown() + suffix.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void constrainedSplitsMatchIteration() {
+
+        ArgumentSet as = makeDays().withConstraint("b", args -> args[1] != DayOfWeek.FRIDAY)
+                .withConstraint("c", new int[] { 0, 2 }, args -> args[0] != args[1]);
+
+        Spliterator<ArgVector> suffix = as.spliterator();
+        assertTrue(!suffix.hasCharacteristics(Spliterator.SIZED));
+        assertNotNull(suffix.trySplit());
+
+        List<String> streamed = as.stream().parallel().map(ArgVector::toString).collect(Collectors.toList());
+        assertEquals(7 * 6 * 6, streamed.size());
+        assertEquals(toStrings(as), streamed);
+    }
+
+    @Test
+    public void sparseSplitsSearchOnlyTheirOwnRange() {
+
+        Map<List<Object>, AtomicInteger> checked = new ConcurrentHashMap<>();
+        ArgumentSet as = makeDays().withConstraint("c", args -> {
+            checked.computeIfAbsent(Arrays.asList(args.clone()), k -> new AtomicInteger()).incrementAndGet();
+            return args[0] == DayOfWeek.MONDAY;
+        });
+
+        List<String> streamed = as.stream().parallel().map(ArgVector::toString).collect(Collectors.toList());
+        assertEquals(7 * 7, streamed.size());
+
+        assertEquals(7 * 7 * 7, checked.size());
+        checked.forEach((combination, calls) -> assertEquals(combination.toString(), 1, calls.get()));
+    }
+
+    private static List<String> toStrings(ArgumentSet as) {
+        List<String> all = new ArrayList<>();
+        as.forEach(av -> all.add(av.toString()));
+        return all;
+    }
+
+    private static ArgumentSet makeDays() {
+        return ArgumentSet.fromArray(Arrays.asList("a", "b", "c"),
+                Arrays.asList(DayOfWeek.values(), DayOfWeek.values(), DayOfWeek.values()));
+    }
+
     protected int countArguments(ArgumentSet as) {
 
         return countByIterator(as, as.iterator());
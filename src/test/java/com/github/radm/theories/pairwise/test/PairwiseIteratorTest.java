@@ -3,10 +3,16 @@ package com.github.radm.theories.pairwise.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.junit.contrib.theories.Theories;
+import org.junit.contrib.theories.Theory;
 import org.junit.runner.RunWith;
 
 import com.github.radm.theories.pairwise.ArgVector;
@@ -69,6 +75,50 @@ public class PairwiseIteratorTest extends ArgumentSetTest {
         assertEquals(2, countArguments(threeIntsConstrainedBySum));
     }
 
+    @Theory
+    public void coversEveryReachablePair(ArgumentSet as) {
+
+        Set<String> reachable = new HashSet<>();
+        as.forEach(av -> addPairs(av, reachable));
+
+        Set<String> covered = new HashSet<>();
+        as.pairwiseIterator().forEachRemaining(av -> addPairs(av, covered));
+
+        assertEquals(reachable, covered);
+    }
+
+    @Test(timeout = 10000)
+    public void wideConstrainedTheoryStartsQuickly() {
+
+        List<String> names = new ArrayList<>();
+        List<List<Object>> values = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            names.add("a" + i);
+            values.add(Arrays.asList(0, 1, 2, 3, 4));
+        }
+
+        // 5^12 combinations, far too many to generate one by one
+        ArgumentSet as = new ArgumentSet(names, values)
+                .withConstraint("a1", new int[] { 0, 1 }, args -> (Integer) args[0] < (Integer) args[1])
+                .withConstraint("a7", new int[] { 5, 7 }, args -> (Integer) args[0] + (Integer) args[1] == 4)
+                .withConstraint("a2", args -> (Integer) args[2] != 2);
+
+        int cases = 0;
+        for (Iterator<ArgVector> iter = as.pairwiseIterator(); iter.hasNext(); cases++) {
+            int[] av = iter.next().args;
+            assertTrue(av[0] < av[1] && av[5] + av[7] == 4 && av[2] != 2);
+        }
+        assertTrue(cases >= 25);
+    }
+
+    private static void addPairs(ArgVector av, Set<String> pairs) {
+        for (int i = 0; i < av.args.length; i++) {
+            for (int j = i + 1; j < av.args.length; j++) {
+                pairs.add(i + "=" + av.args[i] + "," + j + "=" + av.args[j]);
+            }
+        }
+    }
+
     private int countArguments(ArgumentSet as) {
         Iterator<ArgVector> iter = as.pairwiseIterator();
 
@@ -0,0 +1,138 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Aggregated;
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.TheorySuite;
+
+/**
+ * test the @Aggregated annotation
+ *
+ */
+@SuppressWarnings("javadoc")
+public class AggregatedTest extends CustomRunnerTest {
+
+    public static class Chunks {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @Aggregated(30)
+        public void inChunks(int a, int b) {
+            assertTrue(a != 3 || b != 4);
+        }
+
+        @Theory
+        @Aggregated
+        public void wholeTheory(int a, int b) {
+        }
+    }
+
+    @Test
+    public void chunksInTree() throws Exception {
+
+        Description description = new TheorySuite(Chunks.class).getDescription();
+
+        List<String> names = description.getChildren().stream().flatMap(d -> d.getChildren().stream())
+                .map(Description::getMethodName).collect(Collectors.toList());
+
+        assertTrue(names.contains("inChunks[cases 1-30]"));
+        assertTrue(names.contains("inChunks[cases 91-100]"));
+        assertTrue(names.contains("wholeTheory[all cases]"));
+        assertEquals(5, names.size());
+    }
+
+    @Test
+    public void failureListsCases() throws Exception {
+
+        RunListener listener = runTestWithMockListener(Chunks.class);
+
+        ArgumentCaptor<Failure> argument = ArgumentCaptor.forClass(Failure.class);
+        verify(listener, times(5)).testStarted(Mockito.any());
+        verify(listener, times(5)).testFinished(Mockito.any());
+        verify(listener, times(1)).testFailure(argument.capture());
+
+        Failure failure = argument.getValue();
+        assertEquals("inChunks[cases 31-60]", failure.getDescription().getMethodName());
+        assertTrue(failure.getMessage(), failure.getMessage().contains("1 of 30 cases failed"));
+        assertTrue(failure.getMessage(), failure.getMessage().contains("inChunks[3,4]"));
+    }
+
+    @Streaming
+    @Parallel
+    public static class StreamedChunks {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @Aggregated(400)
+        public void inChunks(int a, int b, int c) {
+            assertTrue(c != 3);
+        }
+
+        @Theory
+        @Aggregated
+        public void wholeTheory(int a, int b, int c) {
+        }
+    }
+
+    @Test
+    public void streamedChunks() throws Exception {
+
+        Result result = JUnitCore.runClasses(runSelect, StreamedChunks.class);
+
+        assertEquals(4, result.getRunCount());
+        assertEquals(3, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains("40 of 400 cases failed"));
+        assertTrue(result.getFailures().get(2).getMessage().contains("20 of 200 cases failed"));
+    }
+
+    @Aggregated(1)
+    public static class Assumptions {
+
+        @Theory
+        public void alwaysFails(boolean value) {
+            Assume.assumeTrue(value);
+            Assume.assumeFalse(value);
+        }
+
+        @Theory
+        public void sometimesFails(boolean value) {
+            Assume.assumeTrue(value);
+        }
+    }
+
+    @Test
+    public void failsWhenNoCasesSatisfyingAssumptions() throws Exception {
+
+        RunListener listener = runTestWithMockListener(Assumptions.class);
+
+        verify(listener, times(4)).testStarted(Mockito.any());
+        verify(listener, times(3)).testAssumptionFailure(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+}
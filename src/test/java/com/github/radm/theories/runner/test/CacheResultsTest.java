@@ -0,0 +1,237 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Aggregated;
+import com.github.radm.theories.CacheResults;
+import com.github.radm.theories.runner.MethodWithArguments;
+import com.github.radm.theories.runner.ResultStore;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the @CacheResults annotation
+ *
+ */
+@SuppressWarnings("javadoc")
+public class CacheResultsTest extends CustomRunnerTest {
+
+    @Rule
+    public TemporaryFolder stateDir = new TemporaryFolder();
+
+    @Before
+    public void setStateDir() {
+        System.setProperty(TheorySettings.STATE_DIR, stateDir.getRoot().getPath());
+    }
+
+    @After
+    public void clearStateDir() {
+        System.clearProperty(TheorySettings.STATE_DIR);
+    }
+
+    @CacheResults(dependsOn = String.class)
+    public static class Counted {
+
+        static final AtomicInteger runs = new AtomicInteger();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void mostlyPasses(int a) {
+            runs.incrementAndGet();
+            assertTrue(a != 3);
+        }
+
+        @Theory
+        @Aggregated(5)
+        public void chunked(int a) {
+            runs.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void passingCasesSkippedOnRerun() throws Exception {
+
+        Counted.runs.set(0);
+        Result first = JUnitCore.runClasses(runSelect, Counted.class);
+        assertEquals(1, first.getFailureCount());
+        assertEquals(20, Counted.runs.get());
+
+        Counted.runs.set(0);
+        RunListener listener = runTestWithMockListener(Counted.class);
+
+        // only the failing case runs again; both chunks are wholly cached
+        assertEquals(1, Counted.runs.get());
+        verify(listener, times(10 + 2)).testStarted(Mockito.any());
+        verify(listener, times(9 + 2)).testAssumptionFailure(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+    @CacheResults(dependsOn = String.class)
+    public static class PartlyCached {
+
+        static boolean failOnce;
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @Aggregated(10)
+        public void chunked(int a) {
+            assertTrue(a != 3 || !failOnce);
+        }
+    }
+
+    @Test
+    public void cachedCasesCountedInChunk() throws Exception {
+
+        PartlyCached.failOnce = true;
+        JUnitCore.runClasses(runSelect, PartlyCached.class);
+
+        Result rerun = JUnitCore.runClasses(runSelect, PartlyCached.class);
+        assertEquals(1, rerun.getFailureCount());
+        assertTrue(rerun.getFailures().get(0).getMessage(),
+                rerun.getFailures().get(0).getMessage().startsWith("1 of 1 cases failed, 9 more cached as passed before:"));
+
+        PartlyCached.failOnce = false;
+        JUnitCore.runClasses(runSelect, PartlyCached.class);
+
+        ArgumentCaptor<Failure> cached = ArgumentCaptor.forClass(Failure.class);
+        RunListener listener = runTestWithMockListener(PartlyCached.class);
+        verify(listener, times(1)).testAssumptionFailure(cached.capture());
+        assertEquals("cached: all 10 cases passed on an earlier run with the same arguments and code",
+                cached.getValue().getMessage());
+    }
+
+    @CacheResults(dependsOn = String.class)
+    public static class Alike {
+
+        static final AtomicInteger runs = new AtomicInteger();
+
+        public static class Labelled {
+
+            final int n;
+
+            Labelled(int n) {
+                this.n = n;
+            }
+
+            @Override
+            public String toString() {
+                return "labelled";
+            }
+        }
+
+        @DataPoints
+        public static Labelled[] l1 = { new Labelled(1), new Labelled(2) };
+
+        @Theory
+        public void notTwo(Labelled a) {
+            runs.incrementAndGet();
+            assertTrue(a.n != 2);
+        }
+    }
+
+    @Test
+    public void alikeArgumentsCachedApart() throws Exception {
+
+        Alike.runs.set(0);
+        assertEquals(1, JUnitCore.runClasses(runSelect, Alike.class).getFailureCount());
+        assertEquals(2, Alike.runs.get());
+
+        Alike.runs.set(0);
+        Result rerun = JUnitCore.runClasses(runSelect, Alike.class);
+        assertEquals(1, rerun.getFailureCount());
+        assertEquals(1, Alike.runs.get());
+    }
+
+    @Test
+    public void unreadableResultsRunEverything() throws Exception {
+
+        Files.createDirectories(
+                stateDir.getRoot().toPath().resolve("results").resolve(Counted.class.getName() + ".properties"));
+
+        Counted.runs.set(0);
+        Result result = JUnitCore.runClasses(runSelect, Counted.class);
+        assertEquals(1, result.getFailureCount());
+        assertEquals(20, Counted.runs.get());
+    }
+
+    public static class Uncached {
+
+        static final AtomicInteger runs = new AtomicInteger();
+
+        @Theory
+        public void passes(boolean b) {
+            runs.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void onlyWhenRequested() throws Exception {
+
+        Uncached.runs.set(0);
+        JUnitCore.runClasses(runSelect, Uncached.class);
+        JUnitCore.runClasses(runSelect, Uncached.class);
+
+        assertEquals(4, Uncached.runs.get());
+        assertEquals(0, stateDir.getRoot().list().length);
+    }
+
+    @Test
+    public void codeChangeInvalidates() throws Exception {
+
+        MethodWithArguments mwa = new MethodWithArguments(Counted.class.getMethod("mostlyPasses", int.class),
+                new Object[] { 1 });
+
+        ResultStore store = ResultStore.open(stateDir.getRoot().toPath(), Counted.class);
+        store.track("mostlyPasses", "v1");
+        store.recordPass(mwa);
+        store.save();
+
+        store = ResultStore.open(stateDir.getRoot().toPath(), Counted.class);
+        store.track("mostlyPasses", "v1");
+        assertTrue(store.hasPassed(mwa));
+
+        store = ResultStore.open(stateDir.getRoot().toPath(), Counted.class);
+        store.track("mostlyPasses", "v2");
+        assertFalse(store.hasPassed(mwa));
+        store.save();
+
+        store = ResultStore.open(stateDir.getRoot().toPath(), Counted.class);
+        store.track("mostlyPasses", "v1");
+        assertFalse(store.hasPassed(mwa));
+    }
+
+    @Test
+    public void codeDigestDependsOnBytecode() throws Exception {
+
+        String one = ResultStore.codeDigest(Arrays.asList(Counted.class));
+        assertEquals(one, ResultStore.codeDigest(Arrays.asList(Counted.class)));
+        assertFalse(one.equals(ResultStore.codeDigest(Arrays.asList(Counted.class, String.class))));
+    }
+
+}
@@ -14,6 +14,7 @@ import org.junit.runner.Result;
 import org.junit.runner.notification.RunListener;
 
 import com.github.radm.theories.Constraint;
+import com.github.radm.theories.runner.TheorySettings;
 
 /**
  * test the @Constraint annotation
@@ -133,6 +134,19 @@ public class ConstraintTest extends CustomRunnerTest {
 
     }
 
+    @Test
+    public void twoPairsTabulated() throws Exception {
+
+        System.setProperty(TheorySettings.TABULATE_CONSTRAINTS, "100");
+        try {
+            RunListener listener = runTestWithMockListener(TwoPairs.class);
+
+            alwaysPassesWithCases(listener, 10);
+        } finally {
+            System.clearProperty(TheorySettings.TABULATE_CONSTRAINTS);
+        }
+    }
+
     public static class TwoPairsWithExtraArguments extends SimpleConstraints {
 
         @Theory
@@ -154,6 +168,19 @@ public class ConstraintTest extends CustomRunnerTest {
 
     }
 
+    @Test
+    public void twoPairsExtraArgsGeneratedInParallel() throws Exception {
+
+        System.setProperty(TheorySettings.PARALLEL_GENERATION, "true");
+        try {
+            RunListener listener = runTestWithMockListener(TwoPairsWithExtraArguments.class);
+
+            alwaysPassesWithCases(listener, 10 * 5);
+        } finally {
+            System.clearProperty(TheorySettings.PARALLEL_GENERATION);
+        }
+    }
+
     public static class InvalidConstraint {
 
         @Constraint
@@ -205,4 +232,31 @@ public class ConstraintTest extends CustomRunnerTest {
 
     }
 
+    public static class ThrowingConstraint {
+        @Constraint
+        public static boolean notThree(int i) {
+            if (i == 3) {
+                throw new IllegalStateException("three");
+            }
+            return true;
+        }
+
+        @Theory
+        public void notThree(int i, boolean b) {
+            assertTrue(i != 3);
+        }
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 5).toArray();
+    }
+
+    @Test
+    public void throwingConstraintRejectsCase() throws Exception {
+
+        RunListener listener = runTestWithMockListener(ThrowingConstraint.class);
+
+        alwaysPassesWithCases(listener, 4 * 2);
+
+    }
+
 }
@@ -0,0 +1,158 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Aggregated;
+import com.github.radm.theories.FailFast;
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the @FailFast annotation and failure limit property
+ *
+ */
+@SuppressWarnings("javadoc")
+public class FailFastTest extends CustomRunnerTest {
+
+    @Before
+    public void setPoolSize() {
+        System.setProperty(TheorySettings.PARALLELISM, "2");
+    }
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(TheorySettings.PARALLELISM);
+        System.clearProperty(TheorySettings.MAX_FAILURES);
+        System.clearProperty(TheorySettings.LAZY_DESCRIPTIONS);
+    }
+
+    public static class AlwaysFails {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @FailFast(3)
+        public void limited(int a, int b) {
+            assertTrue(a < 0);
+        }
+
+        @Theory
+        public void unlimited(int a) {
+            assertTrue(a < 0);
+        }
+    }
+
+    @Test
+    public void remainingCasesIgnored() throws Exception {
+
+        RunListener listener = runTestWithMockListener(AlwaysFails.class);
+
+        verify(listener, times(3 + 10)).testStarted(Mockito.any());
+        verify(listener, times(3 + 10)).testFailure(Mockito.any());
+        verify(listener, times(97)).testIgnored(Mockito.any());
+    }
+
+    @Test
+    public void lazyRemainingCasesSummarised() throws Exception {
+
+        System.setProperty(TheorySettings.LAZY_DESCRIPTIONS, "true");
+
+        RunListener listener = runTestWithMockListener(AlwaysFails.class);
+
+        ArgumentCaptor<Description> argument = ArgumentCaptor.forClass(Description.class);
+        verify(listener, times(3 + 10)).testFailure(Mockito.any());
+        verify(listener, times(1)).testIgnored(argument.capture());
+        assertEquals("limited[remaining cases skipped after 3 failures]", argument.getValue().getMethodName());
+    }
+
+    @Test
+    public void limitFromProperty() throws Exception {
+
+        System.setProperty(TheorySettings.MAX_FAILURES, "2");
+
+        RunListener listener = runTestWithMockListener(AlwaysFails.class);
+
+        verify(listener, times(3 + 2)).testFailure(Mockito.any());
+        verify(listener, times(97 + 8)).testIgnored(Mockito.any());
+    }
+
+    @Streaming
+    @FailFast(5)
+    public static class StreamedAlwaysFails {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void serial(int a, int b, int c) {
+            assertTrue(a < 0);
+        }
+
+        @Theory
+        @Parallel
+        public void parallel(int a, int b, int c) {
+            assertTrue(a < 0);
+        }
+
+        @Theory
+        @Aggregated(10)
+        public void chunked(int a, int b, int c) {
+            assertTrue(a < 0);
+        }
+    }
+
+    @Test
+    public void streamingStopsEarly() throws Exception {
+
+        Result result = JUnitCore.runClasses(runSelect, StreamedAlwaysFails.class);
+
+        // serial stops at exactly 5, parallel once running cases finish, the
+        // chunked theory after its first chunk
+        assertEquals(3, result.getIgnoreCount());
+        assertTrue(result.getFailureCount() >= 5 + 5 + 1);
+        assertTrue(result.getFailureCount() < 5 + 100 + 1);
+    }
+
+    @FailFast
+    public static class FailsInSecondChunk {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @Aggregated(10)
+        public void chunked(int a, int b) {
+            assertTrue(a != 1);
+        }
+    }
+
+    @Test
+    public void remainingChunksIgnored() throws Exception {
+
+        RunListener listener = runTestWithMockListener(FailsInSecondChunk.class);
+
+        verify(listener, times(2)).testStarted(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+        verify(listener, times(8)).testIgnored(Mockito.any());
+    }
+
+}
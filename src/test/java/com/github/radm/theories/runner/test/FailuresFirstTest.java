@@ -0,0 +1,136 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test running previous failures first
+ *
+ */
+@SuppressWarnings("javadoc")
+public class FailuresFirstTest extends CustomRunnerTest {
+
+    @Rule
+    public TemporaryFolder stateDir = new TemporaryFolder();
+
+    @Before
+    public void setStateDir() {
+        System.setProperty(TheorySettings.STATE_DIR, stateDir.getRoot().getPath());
+        System.setProperty(TheorySettings.FAILURES_FIRST, "true");
+    }
+
+    @After
+    public void clearStateDir() {
+        System.clearProperty(TheorySettings.STATE_DIR);
+        System.clearProperty(TheorySettings.FAILURES_FIRST);
+    }
+
+    public static class SomeFail {
+
+        static final List<String> order = new ArrayList<>();
+
+        static int failing = 7;
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void materialized(int a) {
+            order.add("m" + a);
+            assertEquals(false, a == failing || a == 8);
+        }
+
+        @Theory
+        @Streaming
+        public void streamed(int a) {
+            order.add("s" + a);
+            assertEquals(false, a == failing);
+        }
+    }
+
+    @Test
+    public void failuresRunFirstNextTime() throws Exception {
+
+        SomeFail.failing = 7;
+        SomeFail.order.clear();
+        Result first = JUnitCore.runClasses(runSelect, SomeFail.class);
+        assertEquals(3, first.getFailureCount());
+        assertEquals("m0", SomeFail.order.get(0));
+
+        SomeFail.failing = -1;
+        SomeFail.order.clear();
+        Result second = JUnitCore.runClasses(runSelect, SomeFail.class);
+        assertEquals(1, second.getFailureCount());
+        assertEquals(20, SomeFail.order.size());
+        assertEquals(Arrays.asList("m7", "m8", "m0"), SomeFail.order.subList(0, 3));
+        assertEquals(Arrays.asList("s7", "s0"), SomeFail.order.subList(10, 12));
+
+        // fixed cases drop out of the history
+        SomeFail.order.clear();
+        JUnitCore.runClasses(runSelect, SomeFail.class);
+        assertEquals(Arrays.asList("m8", "m0"), SomeFail.order.subList(0, 2));
+        assertEquals("s0", SomeFail.order.get(10));
+    }
+
+    public static class Changing {
+
+        static int assumed = -1;
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void materialized(int a) {
+            Assume.assumeTrue(a != assumed);
+            assertEquals(false, a >= 7);
+        }
+
+        @Theory
+        @Streaming
+        public void streamed(int a) {
+            Assume.assumeTrue(a != assumed);
+            assertEquals(false, a >= 7);
+        }
+    }
+
+    @Test
+    public void failuresNoLongerRunDropOut() throws Exception {
+
+        Path history = stateDir.getRoot().toPath().resolve("failures").resolve(Changing.class.getName() + ".txt");
+
+        Changing.l1 = IntStream.range(0, 10).toArray();
+        Changing.assumed = -1;
+        JUnitCore.runClasses(runSelect, Changing.class);
+        assertEquals(6, Files.readAllLines(history, StandardCharsets.UTF_8).size());
+
+        // 7 now fails an assumption, 8 and 9 are no longer generated
+        Changing.l1 = IntStream.range(0, 8).toArray();
+        Changing.assumed = 7;
+        Result second = JUnitCore.runClasses(runSelect, Changing.class);
+        assertEquals(0, second.getFailureCount());
+        assertEquals(Collections.emptyList(), Files.readAllLines(history, StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.TheorySuite;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the lazy descriptions mode.
+ *
+ */
+@SuppressWarnings("javadoc")
+public class LazyDescriptionTest extends CustomRunnerTest {
+
+    @Before
+    public void setLazy() {
+        System.setProperty(TheorySettings.LAZY_DESCRIPTIONS, "true");
+    }
+
+    @After
+    public void clearLazy() {
+        System.clearProperty(TheorySettings.LAZY_DESCRIPTIONS);
+    }
+
+    public static class TwoInts {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void twoInts(int a, int b) {
+            assertTrue(a < 9 || b < 9);
+        }
+
+        @Test
+        public void passing() {
+        }
+    }
+
+    @Test
+    public void casesNotInTree() throws Exception {
+
+        Description description = new TheorySuite(TwoInts.class).getDescription();
+
+        assertEquals(2, description.getChildren().size());
+        for (Description child : description.getChildren()) {
+            assertTrue(child.getChildren().isEmpty());
+        }
+    }
+
+    @Test
+    public void allCasesRun() throws Exception {
+
+        RunListener listener = runTestWithMockListener(TwoInts.class);
+
+        ArgumentCaptor<Description> argument = ArgumentCaptor.forClass(Description.class);
+        verify(listener, times(101)).testStarted(argument.capture());
+        verify(listener, times(101)).testFinished(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+
+        assertTrue(argument.getAllValues().stream().anyMatch(d -> "twoInts[1,2]".equals(d.getMethodName())));
+    }
+
+    @Test
+    public void filteredCasesInTree() throws Exception {
+
+        Description single = Description.createTestDescription(TwoInts.class, "twoInts[9,9]");
+
+        TheorySuite suite = new TheorySuite(TwoInts.class);
+        suite.filter(Filter.matchMethodDescription(single));
+
+        Description description = suite.getDescription();
+        assertEquals(1, description.testCount());
+        assertEquals(single, description.getChildren().get(0).getChildren().get(0));
+
+        RunListener listener = runTestCaseWithMockListener(TwoInts.class, single);
+
+        verify(listener, times(1)).testStarted(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.TheorySuite;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test starting the longest parallel cases first
+ *
+ */
+@SuppressWarnings("javadoc")
+public class LongestFirstTest extends CustomRunnerTest {
+
+    @Rule
+    public TemporaryFolder stateDir = new TemporaryFolder();
+
+    @Before
+    public void setStateDir() {
+        System.setProperty(TheorySettings.STATE_DIR, stateDir.getRoot().getPath());
+        System.setProperty(TheorySettings.LONGEST_FIRST, "true");
+        System.setProperty(TheorySettings.PARALLELISM, "1");
+    }
+
+    @After
+    public void clearStateDir() {
+        System.clearProperty(TheorySettings.STATE_DIR);
+        System.clearProperty(TheorySettings.LONGEST_FIRST);
+        System.clearProperty(TheorySettings.PARALLELISM);
+    }
+
+    @Parallel
+    public static class OneSlow {
+
+        static final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void materialized(int a) throws InterruptedException {
+            order.add("m" + a);
+            if (a == 6) {
+                Thread.sleep(50);
+            }
+        }
+
+        @Theory
+        @Streaming
+        public void streamed(int a) throws InterruptedException {
+            order.add("s" + a);
+            if (a == 4) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    @Test
+    public void slowCaseStartsFirstNextTime() throws Exception {
+
+        OneSlow.order.clear();
+        Result first = JUnitCore.runClasses(runSelect, OneSlow.class);
+        assertEquals(0, first.getFailureCount());
+        assertEquals("m0", OneSlow.order.get(0));
+
+        OneSlow.order.clear();
+        Result second = JUnitCore.runClasses(runSelect, OneSlow.class);
+        assertEquals(0, second.getFailureCount());
+        assertEquals(20, OneSlow.order.size());
+        assertEquals("m6", OneSlow.order.get(0));
+        assertEquals("s4", OneSlow.order.get(10));
+    }
+
+    @Parallel
+    public static class Changing {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void materialized(int a) {
+        }
+    }
+
+    private Properties durations(Class<?> testClass) throws Exception {
+        Path file = stateDir.getRoot().toPath().resolve("durations").resolve(testClass.getName() + ".properties");
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private void saveDurations(Class<?> testClass, Properties properties) throws Exception {
+        Path file = stateDir.getRoot().toPath().resolve("durations").resolve(testClass.getName() + ".properties");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, null);
+        }
+    }
+
+    private static long countWithPrefix(Properties properties, String prefix) {
+        return properties.stringPropertyNames().stream().filter(k -> k.startsWith(prefix)).count();
+    }
+
+    @Test
+    public void onlyCasesSeenKept() throws Exception {
+
+        Changing.l1 = IntStream.range(0, 10).toArray();
+        JUnitCore.runClasses(runSelect, Changing.class);
+        assertEquals(10, countWithPrefix(durations(Changing.class), "case:"));
+        assertEquals(10, countWithPrefix(durations(Changing.class), "value:"));
+
+        Changing.l1 = IntStream.range(10, 15).toArray();
+        JUnitCore.runClasses(runSelect, Changing.class);
+        assertEquals(5, countWithPrefix(durations(Changing.class), "case:"));
+        assertEquals(5, countWithPrefix(durations(Changing.class), "value:"));
+    }
+
+    @Test
+    public void casesNotRunKeepTheirTimes() throws Exception {
+
+        Changing.l1 = IntStream.range(0, 10).toArray();
+        JUnitCore.runClasses(runSelect, Changing.class);
+
+        Properties before = durations(Changing.class);
+        for (String key : before.stringPropertyNames()) {
+            if (!key.startsWith("count:")) {
+                before.setProperty(key, "1000");
+            }
+        }
+        saveDurations(Changing.class, before);
+
+        new JUnitCore().run(Request.runner(new TheorySuite(Changing.class))
+                .filterWith(Description.createTestDescription(Changing.class, "materialized[3]")));
+
+        Properties after = durations(Changing.class);
+        assertEquals(10, countWithPrefix(after, "case:"));
+        assertEquals(10, countWithPrefix(after, "value:"));
+
+        long changedCases = after.stringPropertyNames().stream()
+                .filter(k -> k.startsWith("case:") && !"1000".equals(after.getProperty(k))).count();
+        assertTrue(changedCases <= 1);
+
+        long changedValues = after.stringPropertyNames().stream()
+                .filter(k -> k.startsWith("value:") && !"1000".equals(after.getProperty(k))).count();
+        assertEquals(1, changedValues);
+        after.stringPropertyNames().stream().filter(k -> k.startsWith("value:"))
+                .filter(k -> !"1000".equals(after.getProperty(k))).forEach(k -> {
+                    assertTrue(Long.parseLong(after.getProperty(k)) >= 500);
+                    assertEquals("2", after.getProperty("count:" + k.substring("value:".length())));
+                });
+    }
+
+}
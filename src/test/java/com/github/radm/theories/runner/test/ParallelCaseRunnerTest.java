@@ -0,0 +1,104 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.radm.theories.runner.ParallelCaseRunner;
+
+public class ParallelCaseRunnerTest {
+
+    private final ParallelCaseRunner runner = new ParallelCaseRunner(2);
+
+    @After
+    public void shutdown() {
+        Thread.interrupted();
+        runner.shutdown();
+    }
+
+    private static Runnable slowCase(AtomicBoolean finished) {
+        return () -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.set(true);
+        };
+    }
+
+    private static Runnable failingCase() {
+        return () -> {
+            throw new IllegalArgumentException("case failed");
+        };
+    }
+
+    @Test
+    public void runAllWaitsForBatchBeforeRethrowing() {
+
+        AtomicBoolean finished = new AtomicBoolean();
+        try {
+            runner.runAll(Arrays.asList(failingCase(), slowCase(finished)));
+            fail("expected the case's exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(finished.get());
+        }
+    }
+
+    @Test
+    public void threadPerCaseWaitsForBatchBeforeRethrowing() {
+
+        AtomicBoolean finished = new AtomicBoolean();
+        try {
+            runner.runOnThreadPerCase(Arrays.asList(failingCase(), slowCase(finished)), 2);
+            fail("expected the case's exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(finished.get());
+        }
+    }
+
+    @Test
+    public void threadPerCaseInterruptedThrows() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread caller = Thread.currentThread();
+        new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            caller.interrupt();
+            release.countDown();
+        }).start();
+
+        try {
+            runner.runOnThreadPerCase(Arrays.asList(blocked, () -> {
+            }, () -> {
+            }), 1);
+            fail("expected the interrupt to propagate");
+        } catch (IllegalStateException e) {
+            assertEquals("interrupted with 2 cases not started", e.getMessage());
+            assertTrue(Thread.currentThread().isInterrupted());
+        }
+    }
+
+}
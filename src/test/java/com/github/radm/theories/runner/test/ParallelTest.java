@@ -0,0 +1,181 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.notification.RunListener;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.VirtualThreads;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the @Parallel and @VirtualThreads annotations
+ *
+ */
+@SuppressWarnings("javadoc")
+public class ParallelTest extends CustomRunnerTest {
+
+    @Before
+    public void setPoolSize() {
+        System.setProperty(TheorySettings.PARALLELISM, "2");
+    }
+
+    @After
+    public void clearPoolSize() {
+        System.clearProperty(TheorySettings.PARALLELISM);
+    }
+
+    public static class CasesOverlap {
+
+        private static final CyclicBarrier barrier = new CyclicBarrier(2);
+
+        @Theory
+        @Parallel
+        public void bothCasesAtOnce(boolean b) throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void casesRunConcurrently() throws Exception {
+
+        RunListener listener = runTestWithMockListener(CasesOverlap.class);
+
+        alwaysPassesWithCases(listener, 2);
+    }
+
+    @Parallel
+    public static class ManyCases {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 40).toArray();
+
+        @Theory
+        public void product(int a, int b) {
+            assertTrue(a * b >= 0);
+        }
+
+        @Test
+        public void passing() {
+        }
+    }
+
+    @Test
+    public void allCasesReported() throws Exception {
+
+        RunListener listener = runTestWithMockListener(ManyCases.class);
+
+        alwaysPassesWithCases(listener, 40 * 40 + 1);
+    }
+
+    @Parallel
+    public static class SomeFail {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 20).toArray();
+
+        @Theory
+        public void evenOnly(int a) {
+            assertTrue(a % 2 == 0);
+        }
+    }
+
+    @Test
+    public void failuresReported() throws Exception {
+
+        RunListener listener = runTestWithMockListener(SomeFail.class);
+
+        verify(listener, times(20)).testStarted(Mockito.any());
+        verify(listener, times(20)).testFinished(Mockito.any());
+        verify(listener, times(10)).testFailure(Mockito.any());
+    }
+
+    @Parallel
+    public static class AssumptionAlwaysFails {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 20).toArray();
+
+        @Theory
+        public void negativeOnly(int a) {
+            Assume.assumeTrue(a < 0);
+        }
+
+        @Theory
+        public void evenOnly(int a) {
+            Assume.assumeTrue(a % 2 == 0);
+        }
+    }
+
+    @Test
+    public void assumptionsCountedPerTheory() throws Exception {
+
+        RunListener listener = runTestWithMockListener(AssumptionAlwaysFails.class);
+
+        verify(listener, times(40)).testStarted(Mockito.any());
+        verify(listener, times(30)).testAssumptionFailure(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+    @VirtualThreads(maxConcurrency = 50)
+    public static class BlockedCasesOverlap {
+
+        private static final CyclicBarrier barrier = new CyclicBarrier(50);
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 50).toArray();
+
+        @Theory
+        public void allCasesAtOnce(int a) throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void threadPerCase() throws Exception {
+
+        RunListener listener = runTestWithMockListener(BlockedCasesOverlap.class);
+
+        alwaysPassesWithCases(listener, 50);
+    }
+
+    @Parallel
+    public static class LimitedConcurrency {
+
+        private static final AtomicInteger running = new AtomicInteger();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 20).toArray();
+
+        @Theory
+        @VirtualThreads(maxConcurrency = 3)
+        public void neverMoreThanThree(int a) throws Exception {
+            assertTrue(running.incrementAndGet() <= 3);
+            Thread.sleep(5);
+            running.decrementAndGet();
+        }
+    }
+
+    @Test
+    public void threadPerCaseLimited() throws Exception {
+
+        RunListener listener = runTestWithMockListener(LimitedConcurrency.class);
+
+        alwaysPassesWithCases(listener, 20);
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import com.github.radm.theories.FailFast;
+import com.github.radm.theories.Pairwise;
+import com.github.radm.theories.Resumable;
+import com.github.radm.theories.TheorySuite;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test resuming interrupted theories from a checkpoint
+ *
+ */
+@SuppressWarnings("javadoc")
+public class ResumableTest extends CustomRunnerTest {
+
+    @Rule
+    public TemporaryFolder stateDir = new TemporaryFolder();
+
+    @Before
+    public void setStateDir() {
+        System.setProperty(TheorySettings.STATE_DIR, stateDir.getRoot().getPath());
+    }
+
+    @After
+    public void clearStateDir() {
+        System.clearProperty(TheorySettings.STATE_DIR);
+    }
+
+    @Resumable("0ms")
+    public static class LongRunning {
+
+        static final List<String> order = new ArrayList<>();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 3).toArray();
+
+        @Theory
+        public void exhaustive(int a, int b) {
+            order.add("e" + a + b);
+            assertTrue(a != 0 || b != 2);
+        }
+
+        @Theory
+        @Pairwise
+        public void pairwise(int a, int b, int c) {
+            order.add("p" + a + b + c);
+        }
+    }
+
+    /**
+     * Run a class, stopping the run as if the agent were killed once a case
+     * has finished.
+     */
+    private static void runUntil(Class<?> testClass, String lastCase) throws Exception {
+
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                if (lastCase.equals(description.getMethodName())) {
+                    notifier.pleaseStop();
+                }
+            }
+        });
+
+        try {
+            new TheorySuite(testClass).run(notifier);
+        } catch (StoppedByUserException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void resumesAfterLastCheckpoint() throws Exception {
+
+        LongRunning.order.clear();
+        runUntil(LongRunning.class, "exhaustive[1,0]");
+        assertEquals(Arrays.asList("e00", "e01", "e02", "e10"), LongRunning.order);
+
+        LongRunning.order.clear();
+        Result resumed = JUnitCore.runClasses(runSelect, LongRunning.class);
+        assertEquals(Arrays.asList("e11", "e12", "e20", "e21", "e22"), LongRunning.order.subList(0, 5));
+        assertEquals(1, resumed.getFailureCount());
+        assertEquals("exhaustive[4 cases run before resuming]",
+                resumed.getFailures().get(0).getDescription().getMethodName());
+        assertTrue(resumed.getFailures().get(0).getMessage().contains("exhaustive[0,2]"));
+
+        // a theory that ran to the end starts again from the first case
+        LongRunning.order.clear();
+        Result again = JUnitCore.runClasses(runSelect, LongRunning.class);
+        assertEquals("e00", LongRunning.order.get(0));
+        assertEquals(1, again.getFailureCount());
+    }
+
+    @Test
+    public void pairwiseResumesByReplay() throws Exception {
+
+        LongRunning.order.clear();
+        JUnitCore.runClasses(runSelect, LongRunning.class);
+        List<String> all = new ArrayList<>(LongRunning.order.subList(9, LongRunning.order.size()));
+        String third = "pairwise[" + String.join(",", all.get(2).substring(1).split("")) + "]";
+
+        LongRunning.order.clear();
+        runUntil(LongRunning.class, third);
+
+        LongRunning.order.clear();
+        Result resumed = JUnitCore.runClasses(runSelect, LongRunning.class);
+        assertEquals(all.subList(3, all.size()), LongRunning.order.subList(9, LongRunning.order.size()));
+        assertEquals(1, resumed.getIgnoreCount());
+    }
+
+    @Test
+    public void stopRequestEndsRun() throws Exception {
+
+        List<Failure> failures = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                if ("exhaustive[1,0]".equals(description.getMethodName())) {
+                    notifier.pleaseStop();
+                }
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                failures.add(failure);
+            }
+        });
+
+        LongRunning.order.clear();
+        try {
+            new TheorySuite(LongRunning.class).run(notifier);
+            fail("expected the run to stop");
+        } catch (StoppedByUserException e) {
+            // expected
+        }
+        assertEquals(1, failures.size());
+        assertEquals("exhaustive[0,2]", failures.get(0).getDescription().getMethodName());
+        assertEquals(Arrays.asList("e00", "e01", "e02", "e10"), LongRunning.order);
+    }
+
+    @Resumable("1h")
+    public static class StopsEarly {
+
+        static final List<Integer> order = new ArrayList<>();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @FailFast
+        public void failsAtThree(int a) {
+            order.add(a);
+            assertTrue(a != 3);
+        }
+    }
+
+    @Test
+    public void stoppedByLimitResumesNextRun() throws Exception {
+
+        StopsEarly.order.clear();
+        JUnitCore.runClasses(runSelect, StopsEarly.class);
+        assertEquals(Arrays.asList(0, 1, 2, 3), StopsEarly.order);
+
+        StopsEarly.order.clear();
+        JUnitCore.runClasses(runSelect, StopsEarly.class);
+        assertEquals(Arrays.asList(4, 5, 6, 7, 8, 9), StopsEarly.order);
+
+        // having reached the end, the next run starts again
+        StopsEarly.order.clear();
+        JUnitCore.runClasses(runSelect, StopsEarly.class);
+        assertEquals(Arrays.asList(0, 1, 2, 3), StopsEarly.order);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import com.github.radm.theories.Aggregated;
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.ReuseInstance;
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the @ReuseInstance annotation
+ *
+ */
+@SuppressWarnings("javadoc")
+public class ReuseInstanceTest extends CustomRunnerTest {
+
+    @Before
+    public void setPoolSize() {
+        System.setProperty(TheorySettings.PARALLELISM, "2");
+    }
+
+    @After
+    public void clearPoolSize() {
+        System.clearProperty(TheorySettings.PARALLELISM);
+    }
+
+    public static class Counted {
+
+        static final AtomicInteger created = new AtomicInteger();
+
+        static final AtomicInteger setUps = new AtomicInteger();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        public Counted() {
+            created.incrementAndGet();
+        }
+
+        @Before
+        public void setUp() {
+            setUps.incrementAndGet();
+        }
+
+        @Theory
+        @ReuseInstance
+        public void reused(int a, int b) {
+        }
+
+        @Theory
+        @ReuseInstance
+        public void reusedToo(int a) {
+        }
+
+        @Theory
+        public void notReused(int a) {
+        }
+    }
+
+    @Test
+    public void oneInstancePerTheory() throws Exception {
+
+        Counted.created.set(0);
+        Counted.setUps.set(0);
+
+        Result result = JUnitCore.runClasses(runSelect, Counted.class);
+
+        assertEquals(0, result.getFailureCount());
+        assertEquals(1 + 1 + 10, Counted.created.get());
+        assertEquals(100 + 10 + 10, Counted.setUps.get());
+    }
+
+    @ReuseInstance
+    @Parallel
+    public static class CountedParallel {
+
+        static final AtomicInteger created = new AtomicInteger();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        public CountedParallel() {
+            created.incrementAndGet();
+        }
+
+        @Theory
+        public void parallel(int a, int b) {
+        }
+
+        @Theory
+        @Streaming
+        @Aggregated(30)
+        public void streamedChunks(int a, int b) {
+        }
+    }
+
+    @Test
+    public void oneInstancePerWorker() throws Exception {
+
+        CountedParallel.created.set(0);
+
+        Result result = JUnitCore.runClasses(runSelect, CountedParallel.class);
+
+        assertEquals(0, result.getFailureCount());
+        assertTrue(CountedParallel.created.toString(), CountedParallel.created.get() <= 2 + 2);
+    }
+
+}
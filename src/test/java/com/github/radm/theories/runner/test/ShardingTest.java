@@ -0,0 +1,150 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test splitting tests across shards
+ *
+ */
+@SuppressWarnings("javadoc")
+public class ShardingTest extends CustomRunnerTest {
+
+    private static final int SHARDS = 3;
+
+    @After
+    public void clearShard() {
+        System.clearProperty(TheorySettings.SHARD_INDEX);
+        System.clearProperty(TheorySettings.SHARD_COUNT);
+    }
+
+    public static class Mixed {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void twoInts(int a, int b) {
+        }
+
+        @Theory
+        @Streaming
+        public void streamed(int a, int b) {
+        }
+
+        @Theory
+        public void noArguments() {
+        }
+
+        @Test
+        public void plainOne() {
+        }
+
+        @Test
+        public void plainTwo() {
+        }
+
+        @Test
+        public void plainThree() {
+        }
+    }
+
+    @Test
+    public void shardsPartitionCases() throws Exception {
+
+        List<String> all = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<String> names = runShard(Mixed.class, shard);
+
+            // cases are dealt out in turn, so shards are close in size
+            long twoInts = names.stream().filter(n -> n.startsWith("twoInts[")).count();
+            assertTrue(names.toString(), twoInts == 33 || twoInts == 34);
+
+            all.addAll(names);
+        }
+
+        Set<String> distinct = new HashSet<>(all);
+        assertEquals(all.size(), distinct.size());
+        assertEquals(100 + 100 + 1 + 3, distinct.size());
+        assertTrue(distinct.contains("streamed[9,9]"));
+    }
+
+    @Test
+    public void shardsStable() throws Exception {
+        assertEquals(runShard(Mixed.class, 1), runShard(Mixed.class, 1));
+    }
+
+    public static class AssumptionsInOneShard {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, SHARDS).toArray();
+
+        @Theory
+        public void onlyOneValid(int a) {
+            Assume.assumeTrue(a == 0);
+        }
+    }
+
+    @Test
+    public void assumptionsNotCheckedPerShard() throws Exception {
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            setShard(shard);
+            Result result = JUnitCore.runClasses(runSelect, AssumptionsInOneShard.class);
+            assertEquals(0, result.getFailureCount());
+        }
+    }
+
+    @Test
+    public void invalidShardFails() throws Exception {
+
+        System.setProperty(TheorySettings.SHARD_COUNT, "2");
+        System.setProperty(TheorySettings.SHARD_INDEX, "2");
+
+        Result result = JUnitCore.runClasses(runSelect, Mixed.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains(TheorySettings.SHARD_INDEX));
+    }
+
+    private List<String> runShard(Class<?> testClass, int shard) throws Exception {
+
+        setShard(shard);
+        RunListener listener = runTestWithMockListener(testClass);
+
+        ArgumentCaptor<Description> argument = ArgumentCaptor.forClass(Description.class);
+        Mockito.verify(listener, Mockito.atLeast(0)).testStarted(argument.capture());
+        Mockito.verify(listener, Mockito.never()).testFailure(Mockito.any());
+
+        List<String> names = new ArrayList<>();
+        argument.getAllValues().forEach(d -> names.add(d.getMethodName()));
+        return names;
+    }
+
+    private void setShard(int shard) {
+        System.setProperty(TheorySettings.SHARD_COUNT, Integer.toString(SHARDS));
+        System.setProperty(TheorySettings.SHARD_INDEX, Integer.toString(shard));
+    }
+
+}
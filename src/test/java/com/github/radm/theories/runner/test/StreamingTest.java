@@ -0,0 +1,223 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.stream.IntStream;
+
+import org.junit.Assume;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Pairwise;
+import com.github.radm.theories.Parallel;
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.TheorySuite;
+
+/**
+ * test the @Streaming annotation
+ *
+ */
+@SuppressWarnings("javadoc")
+public class StreamingTest extends CustomRunnerTest {
+
+    @Streaming
+    public static class ThreeInts {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void threeInts(int a, int b, int c) {
+            assertTrue(a + b + c >= 0);
+        }
+
+        @Test
+        public void passing() {
+        }
+    }
+
+    @Test
+    public void allCasesRun() throws Exception {
+
+        RunListener listener = runTestWithMockListener(ThreeInts.class);
+
+        alwaysPassesWithCases(listener, 10 * 10 * 10 + 1);
+    }
+
+    @Test
+    public void casesNotInTree() throws Exception {
+
+        Description description = new TheorySuite(ThreeInts.class).getDescription();
+
+        assertEquals(2, description.getChildren().size());
+        assertEquals(2, description.testCount());
+    }
+
+    @Test
+    public void casesDescribedAsTheyRun() throws Exception {
+
+        RunListener listener = runTestWithMockListener(ThreeInts.class);
+
+        ArgumentCaptor<Description> argument = ArgumentCaptor.forClass(Description.class);
+        verify(listener, times(1001)).testStarted(argument.capture());
+
+        assertTrue(argument.getAllValues().stream().anyMatch(d -> "threeInts[1,2,3]".equals(d.getMethodName())));
+        for (Description d : argument.getAllValues()) {
+            assertEquals(ThreeInts.class, d.getTestClass());
+        }
+    }
+
+    @Test
+    public void filterPicksOutCases() throws Exception {
+
+        Description wanted = Description.createTestDescription(ThreeInts.class, "threeInts[1,2,3]");
+        RunListener listener = runTestCaseWithMockListener(ThreeInts.class, wanted);
+
+        alwaysPassesWithCases(listener, 1);
+        verify(listener).testStarted(wanted);
+    }
+
+    @Test
+    public void filteredCasesInTree() throws Exception {
+
+        TheorySuite suite = new TheorySuite(ThreeInts.class);
+        suite.filter(new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                String name = description.getMethodName();
+                return name != null && name.startsWith("threeInts[1,2,")
+                        || description.getChildren().stream().anyMatch(this::shouldRun);
+            }
+
+            @Override
+            public String describe() {
+                return "threeInts[1,2,*]";
+            }
+        });
+        suite.filter(Filter.matchMethodDescription(
+                Description.createTestDescription(ThreeInts.class, "threeInts[1,2,3]")));
+
+        Description description = suite.getDescription();
+        assertEquals(1, description.testCount());
+        assertEquals("threeInts[1,2,3]", description.getChildren().get(0).getChildren().get(0).getMethodName());
+
+        RunListener listener = Mockito.mock(RunListener.class);
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        core.run(Request.runner(suite));
+        alwaysPassesWithCases(listener, 1);
+    }
+
+    public static class StreamedParallelPairwise {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        @Streaming
+        @Parallel
+        public void exhaustive(int a, int b, int c, int d) {
+            assertTrue(a % 2 == 0);
+        }
+
+        @Theory
+        @Streaming
+        @Pairwise
+        public void pairwise(int a, int b, int c) {
+        }
+    }
+
+    @Test
+    public void parallelAndPairwise() throws Exception {
+
+        Result result = JUnitCore.runClasses(runSelect, StreamedParallelPairwise.class);
+
+        // pairwise needs at least 100 cases to cover 10 * 10 pairs
+        assertTrue(result.getRunCount() >= 10 * 10 * 10 * 10 + 100);
+        assertTrue(result.getRunCount() < 10 * 10 * 10 * 10 + 10 * 10 * 10);
+        assertEquals(5 * 10 * 10 * 10, result.getFailureCount());
+    }
+
+    @Streaming
+    public static class Assumptions {
+
+        @Theory
+        public void alwaysFails(boolean value) {
+            Assume.assumeTrue(value);
+            Assume.assumeFalse(value);
+        }
+
+        @Theory
+        public void sometimesFails(boolean value) {
+            Assume.assumeTrue(value);
+        }
+    }
+
+    @Test
+    public void failsWhenNoCasesSatisfyingAssumptions() throws Exception {
+
+        RunListener listener = runTestWithMockListener(Assumptions.class);
+
+        verify(listener, times(4)).testStarted(Mockito.any());
+        verify(listener, times(3)).testAssumptionFailure(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+    @Streaming
+    public static class MissingDatapoints {
+
+        @Theory
+        public void intTheory(int value) {
+        }
+
+        @Test
+        public void passing() {
+        }
+    }
+
+    @Test
+    public void missingDataPointsFailsTest() throws Exception {
+
+        RunListener listener = runTestWithMockListener(MissingDatapoints.class);
+
+        verify(listener, times(1)).testStarted(Mockito.any());
+        verify(listener, times(1)).testFailure(Mockito.any());
+    }
+
+    @Streaming
+    public static class Unusual {
+
+        @Theory
+        @Ignore
+        public void ignored(boolean value) {
+        }
+
+        @Theory
+        public void noArguments() {
+        }
+    }
+
+    @Test
+    public void unusualTheories() throws Exception {
+
+        RunListener listener = runTestWithMockListener(Unusual.class);
+
+        verify(listener, times(1)).testStarted(Mockito.any());
+        verify(listener, times(1)).testIgnored(Mockito.any());
+        verify(listener, times(0)).testFailure(Mockito.any());
+    }
+
+}
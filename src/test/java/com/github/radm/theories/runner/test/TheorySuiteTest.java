@@ -6,7 +6,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -19,15 +22,22 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.contrib.theories.DataPoints;
 import org.junit.contrib.theories.FromDataPoints;
+import org.junit.contrib.theories.ParameterSignature;
+import org.junit.contrib.theories.ParameterSupplier;
+import org.junit.contrib.theories.ParametersSuppliedBy;
+import org.junit.contrib.theories.PotentialAssignment;
 import org.junit.contrib.theories.Theory;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.github.radm.theories.TheorySuite;
+
 /**
  * unit test for TheorySuite. Covers more details than the ExampleTest
  *
@@ -192,6 +202,28 @@ public class TheorySuiteTest extends CustomRunnerTest {
 
     }
 
+    public static class InternalAssumptionOrPass {
+        @Theory
+        @SuppressWarnings("deprecation")
+        public void booleanTheory(boolean value) {
+            if (!value) {
+                throw new org.junit.internal.AssumptionViolatedException("internal type");
+            }
+        }
+    }
+
+    @Test
+    public void internalAssumptionFailuresAreCountedAsPassed() throws Exception {
+
+        RunListener listener = runTestWithMockListener(InternalAssumptionOrPass.class);
+
+        verify(listener, times(2)).testStarted(Mockito.any());
+        verify(listener, times(2)).testFinished(Mockito.any());
+        verify(listener, times(1)).testAssumptionFailure(Mockito.any());
+        verify(listener, never()).testFailure(Mockito.any());
+
+    }
+
     public static class AssumptionAlwaysFails {
         @Theory
         public void booleanTheory(boolean value) {
@@ -395,5 +427,102 @@ public class TheorySuiteTest extends CustomRunnerTest {
 
     }
 
+    public static class ThrowsChecked {
+
+        @Theory
+        public void checkedException(boolean value) throws IOException {
+            throw new IOException("theory " + value);
+        }
+    }
+
+    public static class ConstructorThrows {
+
+        public ConstructorThrows() {
+            throw new IllegalStateException("constructor");
+        }
+
+        @Theory
+        public void neverRuns(boolean value) {
+        }
+    }
+
+    @Test
+    public void exceptionsReportedAsThrown() throws Exception {
+
+        Result theory = JUnitCore.runClasses(runSelect, ThrowsChecked.class);
+        assertEquals(2, theory.getFailureCount());
+        assertTrue(theory.getFailures().get(0).getException() instanceof IOException);
+        assertEquals("theory true", theory.getFailures().get(0).getMessage());
+
+        Result constructor = JUnitCore.runClasses(runSelect, ConstructorThrows.class);
+        assertEquals(2, constructor.getFailureCount());
+        assertTrue(constructor.getFailures().get(0).getException() instanceof IllegalStateException);
+    }
+
+    public static class MismatchedValues extends ParameterSupplier {
+
+        @Override
+        public List<PotentialAssignment> getValueSources(ParameterSignature sig) {
+            return Arrays.asList(PotentialAssignment.forValue("one", 1), PotentialAssignment.forValue("null", null),
+                    PotentialAssignment.forValue("two", "two"));
+        }
+    }
+
+    public static class MismatchedArguments {
+
+        @Theory
+        public void primitive(@ParametersSuppliedBy(MismatchedValues.class) int value) {
+        }
+    }
+
+    @Test
+    public void mismatchedArgumentsReportedAsReflectionDoes() throws Exception {
+
+        Result result = JUnitCore.runClasses(runSelect, MismatchedArguments.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(2, result.getFailureCount());
+        for (Failure failure : result.getFailures()) {
+            assertEquals(IllegalArgumentException.class, failure.getException().getClass());
+        }
+    }
+
+    public static class ManyAssumptions {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 20).toArray();
+
+        @Theory
+        public void evenOnly(int a, int b) {
+            Assume.assumeTrue(a % 2 == 0);
+        }
+    }
+
+    @Test
+    public void notifierListenersUntouchedByCases() throws Exception {
+
+        AtomicInteger listenerChanges = new AtomicInteger();
+        RunNotifier notifier = new RunNotifier() {
+            @Override
+            public void addListener(RunListener listener) {
+                listenerChanges.incrementAndGet();
+                super.addListener(listener);
+            }
+
+            @Override
+            public void removeListener(RunListener listener) {
+                listenerChanges.incrementAndGet();
+                super.removeListener(listener);
+            }
+        };
+        RunListener listener = Mockito.mock(RunListener.class);
+        notifier.addListener(listener);
+
+        new TheorySuite(ManyAssumptions.class).run(notifier);
+
+        assertEquals(1, listenerChanges.get());
+        verify(listener, times(20 * 20)).testStarted(Mockito.any());
+        verify(listener, times(10 * 20)).testAssumptionFailure(Mockito.any());
+        verify(listener, never()).testFailure(Mockito.any());
+    }
 
 }
@@ -0,0 +1,127 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.radm.theories.Streaming;
+import com.github.radm.theories.TimeBudget;
+import com.github.radm.theories.runner.TheorySettings;
+
+/**
+ * test the @TimeBudget annotation
+ *
+ */
+@SuppressWarnings("javadoc")
+public class TimeBudgetTest extends CustomRunnerTest {
+
+    public static class Slow {
+
+        static final List<String> order = new ArrayList<>();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 5).toArray();
+
+        @Theory
+        @TimeBudget("100ms")
+        public void slow(int a, int b, int c) throws Exception {
+            order.add(a + "," + b + "," + c);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void remainingCasesSkippedWithCoverage() throws Exception {
+
+        Slow.order.clear();
+        RunListener listener = runTestWithMockListener(Slow.class);
+
+        ArgumentCaptor<Description> argument = ArgumentCaptor.forClass(Description.class);
+        verify(listener, Mockito.atMost(20)).testStarted(Mockito.any());
+        verify(listener, atLeast(100)).testIgnored(argument.capture());
+
+        List<String> summaries = argument.getAllValues().stream().map(Description::getMethodName)
+                .filter(name -> name.contains("remaining")).collect(Collectors.toList());
+        assertEquals(1, summaries.size());
+        assertTrue(summaries.get(0),
+                summaries.get(0).matches("slow\\[remaining cases skipped after time budget of 100ms, "
+                        + "\\d+ cases run, \\d+\\.\\d% of value pairs covered\\]"));
+    }
+
+    @Test
+    public void coverageFirstOrder() throws Exception {
+
+        Slow.order.clear();
+        JUnitCore.runClasses(runSelect, Slow.class);
+
+        // exhaustive order would start 0,0,0 0,0,1 0,0,2, repeating pairs
+        assertTrue(Slow.order.size() >= 3);
+        assertTrue(Slow.order.toString(), !Slow.order.subList(0, 3).contains("0,0,1")
+                || !Slow.order.subList(0, 3).contains("0,0,2"));
+    }
+
+    @Streaming
+    @TimeBudget("50ms")
+    public static class StreamedSlow {
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 5).toArray();
+
+        @Theory
+        public void slow(int a, int b) throws Exception {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void streamedSummary() throws Exception {
+
+        RunListener listener = runTestWithMockListener(StreamedSlow.class);
+
+        verify(listener, times(1)).testIgnored(Mockito.any());
+        verify(listener, times(0)).testFailure(Mockito.any());
+    }
+
+    @TimeBudget("soon")
+    public static class Malformed {
+
+        @Theory
+        public void any(boolean b) {
+        }
+    }
+
+    @Test
+    public void malformedBudgetFails() throws Exception {
+
+        Result result = JUnitCore.runClasses(runSelect, Malformed.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains("soon"));
+    }
+
+    @Test
+    public void durations() {
+        assertEquals(250, TheorySettings.durationMillis("250ms"));
+        assertEquals(30_000, TheorySettings.durationMillis("30s"));
+        assertEquals(120_000, TheorySettings.durationMillis("2m"));
+        assertEquals(3_600_000, TheorySettings.durationMillis("1 h"));
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.radm.theories.runner.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.contrib.theories.DataPoints;
+import org.junit.contrib.theories.Theory;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import com.github.radm.theories.VirtualThreads;
+
+/**
+ * test that @VirtualThreads uses virtual threads on Java 21 or later; run by
+ * failsafe against the packaged multi-release jar, since the Java 21 classes
+ * are not used from the classes directory; listens without mocks, which do
+ * not work on every JVM this runs on
+ *
+ */
+@SuppressWarnings("javadoc")
+public class VirtualThreadsIT {
+
+    @VirtualThreads
+    public static class RecordsThreads {
+
+        static final Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+
+        @DataPoints
+        public static int[] l1 = IntStream.range(0, 10).toArray();
+
+        @Theory
+        public void recordThread(int a) throws Exception {
+            virtual.add((Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        }
+    }
+
+    @Test
+    public void casesRunOnVirtualThreads() throws Exception {
+
+        Assume.assumeFalse(System.getProperty("java.specification.version").startsWith("1."));
+        Assume.assumeTrue(Integer.parseInt(System.getProperty("java.specification.version")) >= 21);
+
+        Result result = new JUnitCore().run(CustomRunnerTest.runSelect, RecordsThreads.class);
+
+        assertEquals(0, result.getFailureCount());
+        assertEquals(10, result.getRunCount());
+        assertEquals(Collections.singleton(true), RecordsThreads.virtual);
+    }
+
+}